@@ -0,0 +1,22 @@
+package com.Orio.gbp_tool.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.Orio.gbp_tool.config.properties.ExtractionProperties;
+
+@Configuration
+public class ExtractionConfig {
+
+    private static final String EXTRACTION_THREAD_PREFIX = "extraction-";
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService extractionExecutor(ExtractionProperties properties) {
+        return Executors.newFixedThreadPool(properties.resolveWorkers(),
+                new CustomizableThreadFactory(EXTRACTION_THREAD_PREFIX));
+    }
+}
@@ -1,17 +1,45 @@
 package com.Orio.gbp_tool.config;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import org.neo4j.driver.AuthTokens;
+import org.neo4j.driver.Config;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.GraphDatabase;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.Orio.gbp_tool.config.properties.Neo4jProperties;
 
 @Configuration
 public class Neo4jConfig {
 
+    private static final String STREAM_THREAD_PREFIX = "graph-stream-";
+
     @Bean
-    public Driver driver() {
-        return GraphDatabase.driver("bolt://localhost:7687",
-                AuthTokens.basic("neo4j", "12345678"));
+    public Driver driver(Neo4jProperties properties) {
+        Neo4jProperties.Pool pool = properties.getPool();
+        Config.ConfigBuilder config = Config.builder()
+                .withMaxConnectionPoolSize(pool.getMaxSize())
+                .withConnectionAcquisitionTimeout(pool.getAcquisitionTimeoutMs(), TimeUnit.MILLISECONDS)
+                .withMaxConnectionLifetime(pool.getMaxConnectionLifetimeMs(), TimeUnit.MILLISECONDS)
+                .withConnectionTimeout(pool.getConnectionTimeoutMs(), TimeUnit.MILLISECONDS)
+                .withFetchSize(properties.getFetchSize())
+                .withMaxTransactionRetryTime(properties.getMaxTransactionRetryTimeMs(), TimeUnit.MILLISECONDS);
+        if (properties.isMetricsEnabled()) {
+            config.withDriverMetrics();
+        }
+
+        return GraphDatabase.driver(properties.getUri(),
+                AuthTokens.basic(properties.getUsername(), properties.getPassword()), config.build());
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService graphStreamExecutor(Neo4jProperties properties) {
+        return Executors.newFixedThreadPool(properties.getStreamThreads(),
+                new CustomizableThreadFactory(STREAM_THREAD_PREFIX));
     }
 }
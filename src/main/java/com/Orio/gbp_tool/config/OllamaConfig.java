@@ -1,20 +1,20 @@
 package com.Orio.gbp_tool.config;
 
-import org.springframework.ai.ollama.api.OllamaApi;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import lombok.Getter;
 
+// Scheduling runs the health checks of the Ollama endpoint pool
 @Configuration
+@EnableScheduling
 @Getter
 public class OllamaConfig {
-    @Bean
-    public OllamaApi getOllamaApi() {
-        return new OllamaApi();
-    }
 
     @Value("${ollama.text.model}")
     public String model;
+
+    @Value("${ollama.embedding.model}")
+    public String embeddingModel;
 }
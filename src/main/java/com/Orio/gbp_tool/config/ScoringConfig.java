@@ -0,0 +1,29 @@
+package com.Orio.gbp_tool.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.Orio.gbp_tool.config.properties.ScoringProperties;
+
+@Configuration
+public class ScoringConfig {
+
+    private static final String SCORING_THREAD_PREFIX = "scoring-";
+    private static final String JOB_THREAD_PREFIX = "scoring-job-";
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService scoringExecutor(ScoringProperties properties) {
+        return Executors.newFixedThreadPool(properties.getExecutorThreads(),
+                new CustomizableThreadFactory(SCORING_THREAD_PREFIX));
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService jobExecutor(ScoringProperties properties) {
+        return Executors.newFixedThreadPool(properties.getJobs().getMaxConcurrent(),
+                new CustomizableThreadFactory(JOB_THREAD_PREFIX));
+    }
+}
@@ -0,0 +1,50 @@
+package com.Orio.gbp_tool.config.converter;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.RequiredArgsConstructor;
+
+@Converter
+@RequiredArgsConstructor
+public class StringListConverter implements AttributeConverter<List<String>, String> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StringListConverter.class);
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String convertToDatabaseColumn(List<String> attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(attribute);
+        } catch (JsonProcessingException e) {
+            logger.error("Error converting list to JSON, {}", e);
+            throw new IllegalArgumentException("Error converting list to JSON", e);
+        }
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(dbData, new TypeReference<List<String>>() {
+            });
+        } catch (IOException e) {
+            logger.error("Error converting JSON to list, {}", e);
+            throw new IllegalArgumentException("Error converting JSON to list", e);
+        }
+    }
+}
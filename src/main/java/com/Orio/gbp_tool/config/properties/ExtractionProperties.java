@@ -0,0 +1,41 @@
+package com.Orio.gbp_tool.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "extraction")
+@Getter
+@Setter
+public class ExtractionProperties {
+
+    /**
+     * Number of workers a single PDF is split across. 0 uses one worker per
+     * available processor, 1 extracts sequentially.
+     */
+    private int workers = 0;
+
+    /**
+     * Documents with fewer pages than this are extracted sequentially, as
+     * loading a copy of the document per worker does not pay off.
+     */
+    private int minPagesForParallel = 32;
+
+    /**
+     * Bytes of decoded PDF streams kept in memory per open document before
+     * PDFBox spills to scratch files.
+     */
+    private long maxMainMemoryBytes = 16 * 1024 * 1024;
+
+    /**
+     * Resolves the configured number of workers.
+     *
+     * @return The number of workers, at least 1.
+     */
+    public int resolveWorkers() {
+        return workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+    }
+}
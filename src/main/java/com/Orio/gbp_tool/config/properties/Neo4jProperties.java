@@ -0,0 +1,95 @@
+package com.Orio.gbp_tool.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "neo4j")
+@Getter
+@Setter
+public class Neo4jProperties {
+
+    /**
+     * Bolt URI of the Neo4j server.
+     */
+    private String uri = "bolt://localhost:7687";
+
+    /**
+     * User name used to authenticate with Neo4j.
+     */
+    private String username = "neo4j";
+
+    /**
+     * Password used to authenticate with Neo4j.
+     */
+    private String password;
+
+    /**
+     * Number of records fetched per batch while a result is consumed.
+     */
+    private long fetchSize = 1000;
+
+    /**
+     * Milliseconds the driver keeps retrying a managed transaction that fails
+     * with a transient error.
+     */
+    private long maxTransactionRetryTimeMs = 30000;
+
+    /**
+     * Whether connection pool metrics are collected by the driver.
+     */
+    private boolean metricsEnabled = true;
+
+    /**
+     * Number of threads that hand streamed records to their consumer, so a slow
+     * consumer does not hold the driver's I/O threads.
+     */
+    private int streamThreads = 4;
+
+    private Pool pool = new Pool();
+
+    private Batch batch = new Batch();
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        /**
+         * Maximum number of connections the driver keeps to the server.
+         */
+        private int maxSize = 100;
+
+        /**
+         * Milliseconds to wait for a free connection before a session fails.
+         */
+        private long acquisitionTimeoutMs = 60000;
+
+        /**
+         * Milliseconds after which a pooled connection is closed and replaced.
+         */
+        private long maxConnectionLifetimeMs = 3600000;
+
+        /**
+         * Milliseconds to wait while opening a new connection.
+         */
+        private long connectionTimeoutMs = 30000;
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /**
+         * Number of text nodes written per transaction when saving a text.
+         */
+        private int writeSize = 500;
+
+        /**
+         * Number of text nodes deleted per transaction when removing a text.
+         */
+        private int deleteSize = 1000;
+    }
+}
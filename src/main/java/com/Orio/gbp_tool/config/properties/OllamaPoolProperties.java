@@ -0,0 +1,38 @@
+package com.Orio.gbp_tool.config.properties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "ollama.pool")
+@Getter
+@Setter
+public class OllamaPoolProperties {
+
+    /**
+     * Base URLs of the Ollama instances requests are balanced over.
+     */
+    private List<String> baseUrls = new ArrayList<>(List.of("http://localhost:11434"));
+
+    /**
+     * Milliseconds between two health checks of every endpoint.
+     */
+    private long healthCheckIntervalMs = 10000;
+
+    /**
+     * Milliseconds to wait for an endpoint to answer a health check.
+     */
+    private long healthCheckTimeoutMs = 2000;
+
+    /**
+     * Number of consecutive failed requests after which an endpoint is taken
+     * out of rotation until its next successful health check.
+     */
+    private int failureThreshold = 3;
+}
@@ -0,0 +1,213 @@
+package com.Orio.gbp_tool.config.properties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "scoring")
+@Getter
+@Setter
+public class ScoringProperties {
+
+    /**
+     * Number of worker threads used to run scoring tasks.
+     */
+    private int executorThreads = 8;
+
+    /**
+     * Number of requests sent to the model backend at the same time when the
+     * application starts. The limiter adjusts it from observed latency and
+     * errors.
+     */
+    private int maxInFlight = 4;
+
+    private Cache cache = new Cache();
+
+    private Prefilter prefilter = new Prefilter();
+
+    private Batch batch = new Batch();
+
+    private Jobs jobs = new Jobs();
+
+    private Chart chart = new Chart();
+
+    private Limiter limiter = new Limiter();
+
+    private Response response = new Response();
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /**
+         * Whether computed scores are looked up and stored in the score cache.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of scores kept in the in-memory tier before the least
+         * recently used ones are evicted.
+         */
+        private int memoryMaxEntries = 100000;
+
+        /**
+         * Number of newly computed scores buffered before they are written to the
+         * database. Each flush is a checkpoint a restarted run resumes from.
+         */
+        private int flushBatchSize = 50;
+    }
+
+    @Getter
+    @Setter
+    public static class Prefilter {
+
+        /**
+         * Number of best matching pages always sent to the chat model.
+         */
+        private int topK = 20;
+
+        /**
+         * Cosine similarity at or above which a page is sent to the chat model
+         * regardless of its rank.
+         */
+        private double threshold = 0.75;
+
+        /**
+         * Highest score a page that is not sent to the chat model can get. Its
+         * embedding similarity is scaled so that it stays below this ceiling and
+         * does not outrank pages the chat model scored.
+         */
+        private double fallbackCeiling = 20.0;
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /**
+         * Whether chart builds score several concepts per page in one request.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of concepts sent in a single request.
+         */
+        private int maxConceptsPerRequest = 10;
+
+        /**
+         * Estimated prompt size, in tokens, above which the concepts of a page are
+         * split over several requests. Should match the model context window.
+         */
+        private int maxPromptTokens = 2048;
+    }
+
+    @Getter
+    @Setter
+    public static class Jobs {
+
+        /**
+         * Number of scoring jobs that may run at the same time.
+         */
+        private int maxConcurrent = 2;
+
+        /**
+         * Milliseconds between checkpoints, at which running jobs save their
+         * progress and the scores they completed since the last checkpoint.
+         */
+        private long checkpointIntervalMs = 5000;
+
+        /**
+         * Whether jobs interrupted by a shutdown are resumed on startup.
+         */
+        private boolean resumeOnStartup = true;
+
+        /**
+         * Milliseconds after which an idle job event stream is closed.
+         */
+        private long streamTimeoutMs = 1800000;
+    }
+
+    @Getter
+    @Setter
+    public static class Chart {
+
+        /**
+         * Whether chart builds reuse concept scores already stored as SIMILARITY
+         * relationships in the graph instead of asking the model again.
+         */
+        private boolean reuseGraphScores = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Limiter {
+
+        /**
+         * Lowest number of concurrent model requests the limiter backs off to.
+         */
+        private int minLimit = 1;
+
+        /**
+         * Highest number of concurrent model requests the limiter grows to.
+         */
+        private int maxLimit = 16;
+
+        /**
+         * Factor over the baseline latency above which a request counts as slow
+         * and the limit is decreased.
+         */
+        private double latencyTolerance = 2.0;
+
+        /**
+         * Factor the limit is multiplied by after a slow or failed request.
+         */
+        private double backoffRatio = 0.9;
+
+        /**
+         * Number of recent request latencies kept for the percentile metrics.
+         */
+        private int sampleWindow = 500;
+
+        /**
+         * Number of consecutive requests that found no available endpoint after
+         * which the circuit opens and requests fail without reaching the pool.
+         * Failures of a single endpoint are handled by the endpoint pool.
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * Milliseconds the circuit stays open before a trial request is let
+         * through.
+         */
+        private long openDurationMs = 30000;
+    }
+
+    @Getter
+    @Setter
+    public static class Response {
+
+        /**
+         * Maximum number of tokens the model may generate for a score-only
+         * response.
+         */
+        private int scoreOnlyMaxTokens = 16;
+
+        /**
+         * Maximum number of tokens the model may generate for a response that
+         * includes the analysis.
+         */
+        private int analysisMaxTokens = 256;
+
+        /**
+         * Sequences that end a score-only response. The closing brace stops
+         * generation right after the score.
+         */
+        private List<String> stopSequences = new ArrayList<>(List.of("}"));
+    }
+}
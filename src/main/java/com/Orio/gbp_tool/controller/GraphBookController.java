@@ -1,12 +1,16 @@
 package com.Orio.gbp_tool.controller;
 
 import java.io.FileNotFoundException;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,27 +20,31 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import com.Orio.gbp_tool.exception.ChartNotFoundException;
 import com.Orio.gbp_tool.exception.ConceptNotRemovedException;
 import com.Orio.gbp_tool.exception.FileAlreadyInTheDatabaseException;
 import com.Orio.gbp_tool.exception.FileDataReadingException;
+import com.Orio.gbp_tool.exception.PageNotFoundException;
 import com.Orio.gbp_tool.exception.TextAlreadyInTheDatabaseException;
 import com.Orio.gbp_tool.model.ChartData;
-import com.Orio.gbp_tool.model.ChartDataResult;
+import com.Orio.gbp_tool.model.ChartSeries;
 import com.Orio.gbp_tool.model.Concept;
-import com.Orio.gbp_tool.model.FileEntity;
 import com.Orio.gbp_tool.model.PDFText;
-import com.Orio.gbp_tool.model.SimilarityScore;
-import com.Orio.gbp_tool.model.TextSearchResult;
+import com.Orio.gbp_tool.model.ScoringJob;
+import com.Orio.gbp_tool.model.ScoringMode;
 import com.Orio.gbp_tool.model.dto.ChartRequest;
+import com.Orio.gbp_tool.model.dto.JobStatusResponse;
 import com.Orio.gbp_tool.model.dto.TextRequest;
+import com.Orio.gbp_tool.repository.IAsyncGraphDatabaseRepo;
 import com.Orio.gbp_tool.repository.IGraphDatabaseRepo;
 import com.Orio.gbp_tool.repository.ISQLRepo;
 import com.Orio.gbp_tool.repository.impl.graph.Neo4jRepo;
-import com.Orio.gbp_tool.service.IAISimilarityService;
 import com.Orio.gbp_tool.service.IChartService;
-import com.Orio.gbp_tool.service.ITextProcessorService;
+import com.Orio.gbp_tool.service.IEmbeddingService;
+import com.Orio.gbp_tool.service.IScoringJobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -46,19 +54,20 @@ import lombok.RequiredArgsConstructor;
 public class GraphBookController {
 
     private final IGraphDatabaseRepo graphRepo;
+    private final IAsyncGraphDatabaseRepo asyncGraphRepo;
     private final ISQLRepo sqlRepo;
-    private final ITextProcessorService textProcessorService;
-    private final IAISimilarityService aiSimilarityService;
+    private final IEmbeddingService embeddingService;
+    private final IScoringJobService scoringJobService;
     private final IChartService chartService;
+    private final ObjectMapper objectMapper;
     private static final Logger logger = LoggerFactory.getLogger(Neo4jRepo.class);
 
     @PostMapping("/add/text")
     public ResponseEntity<String> addText(@RequestBody TextRequest req) {
-        FileEntity pdf = null;
+        List<PDFText> text = null;
         String title = req.getTitle();
         try {
-            FileEntity text = sqlRepo.getText(title);
-            pdf = text;
+            text = sqlRepo.getPages(title);
         } catch (FileNotFoundException e) {
             logger.error("File not found. Title: {}. Error: {}", title, e);
             return new ResponseEntity<>("File not found", HttpStatus.NOT_FOUND);
@@ -67,13 +76,19 @@ public class GraphBookController {
             return new ResponseEntity<>("An error occurred", HttpStatus.INTERNAL_SERVER_ERROR);
         }
 
-        List<PDFText> text = textProcessorService.createText(pdf);
         try {
             graphRepo.save(text, title);
         } catch (TextAlreadyInTheDatabaseException e) {
             logger.error("Text already in the database. Title: {}. Error: {}", title, e);
             return new ResponseEntity<>("Text already in the database", HttpStatus.FOUND);
         }
+
+        // Embeddings are computed in the background and recomputed lazily by the pre-filter
+        // if this fails, so ingest does not wait for them
+        embeddingService.getPageEmbeddingsAsync(text).exceptionally(e -> {
+            logger.warn("Failed to store page embeddings for {}: {}", title, e.getMessage());
+            return null;
+        });
         return new ResponseEntity<>(title + " added successfully", HttpStatus.OK);
     }
 
@@ -107,58 +122,61 @@ public class GraphBookController {
         }
     }
 
-    @GetMapping("/get/concept/all")
-    public ResponseEntity<List<Concept>> getAllConcepts() {
+    @GetMapping("/get/page")
+    public ResponseEntity<PDFText> getPage(@RequestParam Long id) {
         try {
-            List<Concept> concepts = graphRepo.getConcepts();
-            return ResponseEntity.ok(concepts);
-        } catch (Exception e) {
-            logger.error("An error occurred: {}", e.getMessage());
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+            return ResponseEntity.ok(sqlRepo.getPage(id));
+        } catch (PageNotFoundException e) {
+            logger.error("Page not found: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         }
     }
 
+    @GetMapping("/get/concept/all")
+    public CompletionStage<ResponseEntity<List<Concept>>> getAllConcepts() {
+        return asyncGraphRepo.getConcepts()
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(e -> {
+                    logger.error("An error occurred: {}", e.getMessage());
+                    return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+                });
+    }
+
+    @GetMapping(value = "/get/concept/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamAllConcepts() {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        asyncGraphRepo.streamConcepts(concept -> sendLine(emitter, concept))
+                .whenComplete((count, e) -> {
+                    if (e != null) {
+                        logger.error("An error occurred while streaming concepts: {}", e.getMessage());
+                        emitter.completeWithError(e);
+                    } else {
+                        emitter.complete();
+                    }
+                });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
     @GetMapping("/get/text/all")
     public ResponseEntity<List<String>> getTexts() {
-        List<FileEntity> texts = new ArrayList<>();
         try {
-            texts = sqlRepo.getTexts();
+            return ResponseEntity.ok(sqlRepo.getTitles());
         } catch (Exception e) {
             logger.error("An error occurred: {}", e.getMessage());
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
-
-        List<String> textNames = texts.stream().map(file -> file.getTitle()).toList();
-        return ResponseEntity.ok(textNames);
     }
 
     @PostMapping("/add/concept")
-    public ResponseEntity<String> addConcept(@RequestParam String concept, @RequestParam List<String> textNames) {
-        logger.info("Received request to add concept: {} with text names: {}", concept, textNames);
-
-        TextSearchResult result = sqlRepo.getTexts(textNames);
-
-        List<PDFText> nodes = result.getFound();
-        List<String> notFound = result.getNotFound();
-
-        logger.info("Text search completed. Found texts: {}, Not found texts: {}", nodes.size(), notFound);
+    public ResponseEntity<JobStatusResponse> addConcept(@RequestParam String concept,
+            @RequestParam List<String> textNames, @RequestParam(defaultValue = "FULL") ScoringMode mode,
+            @RequestParam(defaultValue = "false") boolean analysis) {
+        logger.info("Received request to add concept: {} with text names: {}, mode: {}, analysis: {}", concept,
+                textNames, mode, analysis);
 
-        List<SimilarityScore> scores = aiSimilarityService.calculateScores(nodes, concept);
-
-        graphRepo.addConcept(scores, concept);
-
-        if (nodes.isEmpty()) {
-            logger.warn("No texts were found out of the provided: {}", textNames);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("No texts were found.");
-        } else if (!notFound.isEmpty()) {
-            logger.warn("Some texts were not found: {}", notFound);
-            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
-                    .body("Concept added successfully. However, the following texts were not found: "
-                            + String.join(", ", notFound));
-        } else {
-            logger.info("Concept added successfully. All texts were found.");
-            return ResponseEntity.ok("Concept added successfully. All texts were found.");
-        }
+        ScoringJob job = scoringJobService.submitConceptJob(concept, textNames, mode, analysis);
+        logger.info("Concept job {} accepted", job.getId());
+        return accepted(job);
     }
 
     @PutMapping("/delete/concept")
@@ -176,8 +194,23 @@ public class GraphBookController {
         }
     }
 
+    @PutMapping("/delete/concepts")
+    public ResponseEntity<Integer> deleteConcepts(@RequestBody List<String> names) {
+        if (names.isEmpty()) {
+            logger.warn("Concept names list is empty.");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(0);
+        }
+
+        try {
+            return ResponseEntity.ok(graphRepo.removeConcepts(names));
+        } catch (ConceptNotRemovedException e) {
+            logger.error("Error removing concepts: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     @PostMapping("/add/chart")
-    public ResponseEntity<String> addChart(@RequestBody ChartRequest chartRequest) {
+    public ResponseEntity<?> addChart(@RequestBody ChartRequest chartRequest) {
         logger.info("Received request to add chart: {}", chartRequest);
 
         List<String> concepts = chartRequest.getConcepts();
@@ -194,36 +227,83 @@ public class GraphBookController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("PDFs list cannot be empty.");
         }
 
+        ScoringJob job = scoringJobService.submitChartJob(concepts, pdfs, label, chartRequest.getMode());
+        logger.info("Chart job {} accepted", job.getId());
+        return accepted(job);
+    }
+
+    @PutMapping("/delete/chart")
+    public ResponseEntity<Boolean> deleteChart(@RequestParam String name) {
         try {
-            ChartDataResult result = chartService.createChart(concepts, pdfs, label);
+            sqlRepo.removeChart(name);
+            return ResponseEntity.ok(true);
+        } catch (ChartNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(false);
+        }
+    }
 
-            ChartData chartData = result.getChartData();
-            List<String> pdfsNotFound = result.getPdfsNotFound();
+    @PostMapping("/add/chart/concepts")
+    public ResponseEntity<?> addChartConcepts(@RequestParam String name, @RequestParam List<String> concepts,
+            @RequestParam(defaultValue = "FULL") ScoringMode mode) {
+        logger.info("Received request to add concepts {} to chart {}", concepts, name);
+        if (!chartExists(name)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Chart not found");
+        }
 
-            sqlRepo.saveChart(chartData);
+        ScoringJob job = scoringJobService.submitChartConceptsJob(name, concepts, mode);
+        logger.info("Chart concepts job {} accepted", job.getId());
+        return accepted(job);
+    }
 
-            if (!pdfsNotFound.isEmpty()) {
-                logger.warn("Some PDFs were not found: {}", pdfsNotFound);
-                return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
-                        .body("Chart saved successfully. However, the following PDFs were not found: "
-                                + String.join(", ", pdfsNotFound));
-            } else {
-                logger.info("Chart saved successfully. All PDFs were found.");
-                return ResponseEntity.ok("Chart saved successfully. All PDFs were found.");
-            }
+    @PutMapping("/delete/chart/concepts")
+    public ResponseEntity<Integer> deleteChartConcepts(@RequestParam String name,
+            @RequestParam List<String> concepts) {
+        try {
+            return ResponseEntity.ok(chartService.removeConcepts(name, concepts));
+        } catch (ChartNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+    }
+
+    @PostMapping("/add/chart/pdfs")
+    public ResponseEntity<?> addChartPdfs(@RequestParam String name, @RequestParam List<String> pdfs,
+            @RequestParam(defaultValue = "FULL") ScoringMode mode) {
+        logger.info("Received request to add PDFs {} to chart {}", pdfs, name);
+        if (!chartExists(name)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Chart not found");
+        }
+
+        ScoringJob job = scoringJobService.submitChartPdfsJob(name, pdfs, mode);
+        logger.info("Chart PDFs job {} accepted", job.getId());
+        return accepted(job);
+    }
+
+    @PutMapping("/delete/chart/pdfs")
+    public ResponseEntity<Long> deleteChartPdfs(@RequestParam String name, @RequestParam List<String> pdfs) {
+        try {
+            return ResponseEntity.ok(chartService.removePdfs(name, pdfs));
+        } catch (ChartNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+    }
+
+    @GetMapping("/get/chart/all")
+    public ResponseEntity<List<String>> getCharts() {
+        try {
+            return ResponseEntity.ok(sqlRepo.getChartLabels());
         } catch (Exception e) {
-            logger.error("Error creating chart: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to create chart.");
+            logger.error("An error occurred: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
-    @PutMapping("/delete/chart")
-    public ResponseEntity<Boolean> deleteChart(@RequestParam String name) {
+    @GetMapping("/get/chart/series")
+    public ResponseEntity<ChartSeries> getChartSeries(@RequestParam String name, @RequestParam String concept) {
         try {
-            sqlRepo.removeChart(name);
-            return ResponseEntity.ok(true);
+            ChartSeries series = sqlRepo.getChartSeries(name, concept);
+            return ResponseEntity.ok(series);
         } catch (ChartNotFoundException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(false);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         }
     }
 
@@ -236,4 +316,47 @@ public class GraphBookController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         }
     }
+
+    /**
+     * Checks whether a chart with the label exists.
+     *
+     * @param label The chart label.
+     * @return Whether the chart exists.
+     */
+    private boolean chartExists(String label) {
+        try {
+            sqlRepo.getChartConcepts(label);
+            return true;
+        } catch (ChartNotFoundException e) {
+            logger.warn("Chart not found: {}", label);
+            return false;
+        }
+    }
+
+    /**
+     * Writes a value to the emitter as a single NDJSON line.
+     *
+     * @param emitter The emitter of the streamed response.
+     * @param value   The value to write.
+     */
+    private void sendLine(ResponseBodyEmitter emitter, Object value) {
+        try {
+            emitter.send(objectMapper.writeValueAsString(value) + "\n", MediaType.TEXT_PLAIN);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates the response for a submitted job, pointing the client to the job
+     * status endpoint.
+     *
+     * @param job The submitted job.
+     * @return The 202 response carrying the current job status.
+     */
+    private ResponseEntity<JobStatusResponse> accepted(ScoringJob job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/jobs/" + job.getId()))
+                .body(JobStatusResponse.from(job));
+    }
 }
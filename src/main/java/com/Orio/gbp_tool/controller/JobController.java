@@ -0,0 +1,50 @@
+package com.Orio.gbp_tool.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.Orio.gbp_tool.model.ScoringJob;
+import com.Orio.gbp_tool.model.dto.JobStatusResponse;
+import com.Orio.gbp_tool.service.IJobEventService;
+import com.Orio.gbp_tool.service.IScoringJobService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class JobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobController.class);
+
+    private final IScoringJobService scoringJobService;
+    private final IJobEventService eventService;
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<JobStatusResponse> getJob(@PathVariable Long id) {
+        return scoringJobService.getJob(id)
+                .map(job -> ResponseEntity.ok(JobStatusResponse.from(job)))
+                .orElseGet(() -> {
+                    logger.warn("Job not found: {}", id);
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+                });
+    }
+
+    @GetMapping(value = "/jobs/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamJob(@PathVariable Long id) {
+        ScoringJob job = scoringJobService.getJob(id).orElse(null);
+        if (job == null) {
+            logger.warn("Job not found: {}", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+        return ResponseEntity.ok(eventService.subscribe(job));
+    }
+}
@@ -0,0 +1,50 @@
+package com.Orio.gbp_tool.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.Orio.gbp_tool.model.GraphPoolStats;
+import com.Orio.gbp_tool.model.LimiterStats;
+import com.Orio.gbp_tool.model.OllamaEndpointStats;
+import com.Orio.gbp_tool.model.ScoreCacheStats;
+import com.Orio.gbp_tool.service.IConcurrencyLimiter;
+import com.Orio.gbp_tool.service.IGraphMetricsService;
+import com.Orio.gbp_tool.service.IOllamaEndpointPool;
+import com.Orio.gbp_tool.service.IScoreCacheService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class MetricsController {
+
+    private final IScoreCacheService scoreCache;
+    private final IGraphMetricsService graphMetrics;
+    private final IConcurrencyLimiter limiter;
+    private final IOllamaEndpointPool endpointPool;
+
+    @GetMapping("/get/metrics/score-cache")
+    public ResponseEntity<ScoreCacheStats> getScoreCacheStats() {
+        return ResponseEntity.ok(scoreCache.getStats());
+    }
+
+    @GetMapping("/get/metrics/graph-pool")
+    public ResponseEntity<List<GraphPoolStats>> getGraphPoolStats() {
+        return ResponseEntity.ok(graphMetrics.getPoolStats());
+    }
+
+    @GetMapping("/get/metrics/model-limiter")
+    public ResponseEntity<LimiterStats> getModelLimiterStats() {
+        return ResponseEntity.ok(limiter.getStats());
+    }
+
+    @GetMapping("/get/metrics/ollama-endpoints")
+    public ResponseEntity<List<OllamaEndpointStats>> getOllamaEndpointStats() {
+        return ResponseEntity.ok(endpointPool.getStats());
+    }
+}
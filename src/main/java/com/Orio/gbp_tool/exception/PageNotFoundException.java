@@ -0,0 +1,12 @@
+package com.Orio.gbp_tool.exception;
+
+public class PageNotFoundException extends Exception {
+
+    public PageNotFoundException(String message) {
+        super(message);
+    }
+
+    public PageNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
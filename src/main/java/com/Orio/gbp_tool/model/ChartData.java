@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.Orio.gbp_tool.config.converter.MapConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
@@ -11,16 +12,25 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.Data;
 
 @Entity
 @Data
+@Table(indexes = @Index(columnList = "label"))
 public class ChartData {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    // Series are stored as chart_series and chart_point rows and assembled on read
+    @Transient
+    private Map<String, List<PageScore>> data;
+    // Whole-chart JSON of charts saved before series were normalized, read only
+    @JsonIgnore
     @Convert(converter = MapConverter.class)
-    @Column(length = 100000000)
-    private Map<String, List<SimilarityScore>> data;
+    @Column(name = "data", length = 100000000)
+    private Map<String, List<SimilarityScore>> legacyData;
     private String label;
 }
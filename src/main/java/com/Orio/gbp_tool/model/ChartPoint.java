@@ -0,0 +1,34 @@
+package com.Orio.gbp_tool.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "chart_point", indexes = @Index(columnList = "seriesId, position"))
+public class ChartPoint {
+    @JsonIgnore
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    private Long seriesId;
+
+    // Order of the point within the series
+    private int position;
+
+    // Page the score belongs to, the text itself stays in the page table
+    private Long pageId;
+
+    private String pageLabel;
+
+    private float score;
+}
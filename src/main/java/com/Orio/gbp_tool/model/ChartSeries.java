@@ -0,0 +1,34 @@
+package com.Orio.gbp_tool.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "chart_series", indexes = @Index(columnList = "chartId, concept"))
+public class ChartSeries {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    private Long chartId;
+
+    private String concept;
+
+    // Order of the series within the chart
+    private int position;
+
+    @Transient
+    private List<ChartPoint> points;
+}
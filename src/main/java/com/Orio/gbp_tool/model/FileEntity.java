@@ -1,7 +1,13 @@
 package com.Orio.gbp_tool.model;
 
+import java.sql.Blob;
+
+import org.hibernate.engine.jdbc.BlobProxy;
+
+import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -18,6 +24,32 @@ public class FileEntity {
     @Column(unique = true)
     private String title;
 
+    // Streamed to and from the database, so a file is never held in memory whole
     @Lob
-    private byte[] data;
+    @Basic(fetch = FetchType.LAZY)
+    private Blob data;
+
+    // Size of the file in bytes
+    private Long size;
+
+    // SHA-256 of the file content, identifies the same book under any title
+    @Column(unique = true, length = 64)
+    private String contentHash;
+
+    // Whether the page text has been extracted into the page table
+    private Boolean pagesExtracted;
+
+    public void setData(Blob data) {
+        this.data = data;
+    }
+
+    /**
+     * Sets the file content from an in-memory byte array.
+     *
+     * @param data The file content.
+     */
+    public void setData(byte[] data) {
+        this.data = BlobProxy.generateProxy(data);
+        this.size = (long) data.length;
+    }
 }
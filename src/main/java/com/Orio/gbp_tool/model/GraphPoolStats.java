@@ -0,0 +1,17 @@
+package com.Orio.gbp_tool.model;
+
+import lombok.Value;
+
+@Value
+public class GraphPoolStats {
+    String id;
+    int maxSize;
+    int inUse;
+    int idle;
+    int creating;
+    int acquiring;
+    long acquired;
+    long timedOutToAcquire;
+    double averageAcquisitionTimeMs;
+    double averageInUseTimeMs;
+}
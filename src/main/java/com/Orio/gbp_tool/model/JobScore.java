@@ -0,0 +1,56 @@
+package com.Orio.gbp_tool.model;
+
+import com.Orio.gbp_tool.util.HashUtil;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A score a job has completed, kept so that an interrupted job resumes without
+ * scoring the cell again, whether or not the score cache is enabled.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = { "jobId", "cellKey" }),
+        indexes = @Index(columnList = "jobId"))
+public class JobScore {
+    private static final String KEY_SEPARATOR = "\u0000";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long jobId;
+
+    // Identifies the page content and concept the score belongs to
+    @Column(length = 64)
+    private String cellKey;
+
+    private Double score;
+
+    public JobScore(Long jobId, String cellKey, Double score) {
+        this.jobId = jobId;
+        this.cellKey = cellKey;
+        this.score = score;
+    }
+
+    /**
+     * Creates the key of a page and concept cell.
+     *
+     * @param text    The page text.
+     * @param concept The concept.
+     * @return The cell key.
+     */
+    public static String createKey(String text, String concept) {
+        return HashUtil.sha256Hex(HashUtil.sha256Hex(text) + KEY_SEPARATOR + concept);
+    }
+}
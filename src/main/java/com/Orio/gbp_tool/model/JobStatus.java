@@ -0,0 +1,8 @@
+package com.Orio.gbp_tool.model;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
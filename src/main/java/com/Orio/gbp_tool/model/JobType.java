@@ -0,0 +1,8 @@
+package com.Orio.gbp_tool.model;
+
+public enum JobType {
+    CONCEPT,
+    CHART,
+    CHART_CONCEPTS,
+    CHART_PDFS
+}
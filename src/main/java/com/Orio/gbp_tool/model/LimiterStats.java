@@ -0,0 +1,17 @@
+package com.Orio.gbp_tool.model;
+
+import lombok.Value;
+
+@Value
+public class LimiterStats {
+    int limit;
+    int inFlight;
+    String circuitState;
+    long requests;
+    long failures;
+    long rejected;
+    double baselineLatencyMs;
+    double p50LatencyMs;
+    double p95LatencyMs;
+    double p99LatencyMs;
+}
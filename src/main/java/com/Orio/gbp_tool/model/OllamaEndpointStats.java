@@ -0,0 +1,15 @@
+package com.Orio.gbp_tool.model;
+
+import java.util.List;
+
+import lombok.Value;
+
+@Value
+public class OllamaEndpointStats {
+    String baseUrl;
+    boolean healthy;
+    int outstanding;
+    long requests;
+    long failures;
+    List<String> models;
+}
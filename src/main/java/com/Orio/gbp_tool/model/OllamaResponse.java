@@ -1,5 +1,7 @@
 package com.Orio.gbp_tool.model;
 
+import java.util.Map;
+
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -10,11 +12,16 @@ import lombok.ToString;
 @Getter
 public class OllamaResponse {
     private final String analysis;
-    private final double score;
+    // Null when the response has no score, so it is never mistaken for a score of 0
+    private final Double score;
+    // Filled by multi-concept prompts, keyed by concept
+    private final Map<String, Double> scores;
 
     @JsonCreator
-    public OllamaResponse(@JsonProperty("analysis") String analysis, @JsonProperty("score") double score) {
+    public OllamaResponse(@JsonProperty("analysis") String analysis, @JsonProperty("score") Double score,
+            @JsonProperty("scores") Map<String, Double> scores) {
         this.analysis = analysis;
         this.score = score;
+        this.scores = scores;
     }
 }
@@ -12,12 +12,27 @@ public class PDFText implements Serializable {
     private final String text;
     private final String source;
     private final String label;
+    // Page number within the source PDF, null when the text does not come from a page
+    private final Integer page;
+    // Id of the stored page row, null until the page is persisted
+    private final Long pageId;
+
+    public PDFText(String text, String source, String label) {
+        this(text, source, label, null, null);
+    }
+
+    public PDFText(String text, String source, String label, Integer page) {
+        this(text, source, label, page, null);
+    }
 
     @JsonCreator
     public PDFText(@JsonProperty("text") String text, @JsonProperty("source") String source,
-            @JsonProperty("label") String label) {
+            @JsonProperty("label") String label, @JsonProperty("page") Integer page,
+            @JsonProperty("pageId") Long pageId) {
         this.text = text;
         this.source = source;
         this.label = label;
+        this.page = page;
+        this.pageId = pageId;
     }
 }
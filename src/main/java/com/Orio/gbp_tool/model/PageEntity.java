@@ -0,0 +1,46 @@
+package com.Orio.gbp_tool.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "page", uniqueConstraints = @UniqueConstraint(columnNames = { "fileId", "pageNumber" }),
+        indexes = { @Index(columnList = "fileId"), @Index(columnList = "contentHash") })
+public class PageEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long fileId;
+
+    private int pageNumber;
+
+    // Title of the file, kept with the page so lookups don't need a join
+    private String source;
+
+    private String label;
+
+    @Column(columnDefinition = "TEXT")
+    private String text;
+
+    // SHA-256 of the page text
+    @Column(length = 64)
+    private String contentHash;
+
+    /**
+     * Converts the stored page back into the text passed to scoring.
+     *
+     * @return The page text.
+     */
+    public PDFText toPDFText() {
+        return new PDFText(text, source, label, pageNumber, id);
+    }
+}
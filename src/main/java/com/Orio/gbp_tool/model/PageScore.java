@@ -0,0 +1,25 @@
+package com.Orio.gbp_tool.model;
+
+import lombok.Value;
+
+/**
+ * Score of a page for one concept. Refers to the page by id instead of
+ * carrying its text, which is fetched separately when needed.
+ */
+@Value
+public class PageScore {
+    Long pageId;
+    String label;
+    float score;
+
+    /**
+     * Creates the compact form of a score.
+     *
+     * @param score The score.
+     * @return The page score.
+     */
+    public static PageScore from(SimilarityScore score) {
+        return new PageScore(score.getText().getPageId(), score.getText().getLabel(),
+                score.getScore().floatValue());
+    }
+}
@@ -0,0 +1,11 @@
+package com.Orio.gbp_tool.model;
+
+import java.util.List;
+
+import lombok.Value;
+
+@Value
+public class PreFilterResult {
+    List<PDFText> candidates;
+    List<SimilarityScore> embeddingScores;
+}
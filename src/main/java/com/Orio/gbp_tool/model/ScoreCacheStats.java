@@ -0,0 +1,12 @@
+package com.Orio.gbp_tool.model;
+
+import lombok.Value;
+
+@Value
+public class ScoreCacheStats {
+    long memoryHits;
+    long databaseHits;
+    long misses;
+    int memoryEntries;
+    double hitRatio;
+}
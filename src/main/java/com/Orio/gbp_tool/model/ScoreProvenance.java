@@ -0,0 +1,15 @@
+package com.Orio.gbp_tool.model;
+
+import java.util.Set;
+
+import lombok.Value;
+
+/**
+ * The chat model and prompt templates that currently produce full scores.
+ * Stored scores are only reused when they were produced the same way.
+ */
+@Value
+public class ScoreProvenance {
+    String model;
+    Set<String> promptVersions;
+}
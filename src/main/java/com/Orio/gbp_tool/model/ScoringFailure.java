@@ -0,0 +1,10 @@
+package com.Orio.gbp_tool.model;
+
+import lombok.Value;
+
+@Value
+public class ScoringFailure {
+    PDFText text;
+    String concept;
+    String reason;
+}
@@ -0,0 +1,70 @@
+package com.Orio.gbp_tool.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.Orio.gbp_tool.config.converter.StringListConverter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+@Data
+@Entity
+public class ScoringJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Identifies the request, so re-submitting it resumes the same job
+    @Column(unique = true, length = 64)
+    private String jobKey;
+
+    // Plain varchar columns, so Hibernate adds no check constraint that rejects values added later
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "varchar(32)")
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "varchar(32)")
+    private JobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "varchar(32)")
+    private ScoringMode mode;
+
+    // Nullable so the column can be added to existing job tables
+    private Boolean includeAnalysis;
+
+    private String label;
+
+    @Convert(converter = StringListConverter.class)
+    @Column(length = 100000)
+    private List<String> concepts;
+
+    @Convert(converter = StringListConverter.class)
+    @Column(length = 100000)
+    private List<String> textNames;
+
+    @Convert(converter = StringListConverter.class)
+    @Column(length = 100000)
+    private List<String> pdfsNotFound;
+
+    private int totalTasks;
+    private int completedTasks;
+    private int failedTasks;
+
+    @Column(length = 2000)
+    private String message;
+
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant updatedAt;
+    private Instant finishedAt;
+}
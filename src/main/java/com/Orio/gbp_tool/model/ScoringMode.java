@@ -0,0 +1,13 @@
+package com.Orio.gbp_tool.model;
+
+public enum ScoringMode {
+    /**
+     * Every page is scored by the chat model.
+     */
+    FULL,
+    /**
+     * Pages are ranked by embedding similarity first and only the best
+     * candidates are scored by the chat model.
+     */
+    EMBEDDING_PREFILTER
+}
@@ -0,0 +1,27 @@
+package com.Orio.gbp_tool.model;
+
+import java.util.Map;
+
+import com.Orio.gbp_tool.service.IScoringListener;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder(toBuilder = true)
+public class ScoringOptions {
+    @Builder.Default
+    ScoringMode mode = ScoringMode.FULL;
+    @Builder.Default
+    IScoringListener listener = IScoringListener.NO_OP;
+    // Asks the model for its analysis as well, which makes every request several times slower
+    @Builder.Default
+    boolean includeAnalysis = false;
+    // Scores an earlier run of the same job completed, keyed by JobScore cell key
+    @Builder.Default
+    Map<String, Double> completedScores = Map.of();
+
+    public static ScoringOptions defaults() {
+        return ScoringOptions.builder().build();
+    }
+}
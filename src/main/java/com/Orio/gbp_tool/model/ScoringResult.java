@@ -0,0 +1,12 @@
+package com.Orio.gbp_tool.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class ScoringResult {
+    private List<SimilarityScore> scores = new ArrayList<>();
+    private List<ScoringFailure> failures = new ArrayList<>();
+}
@@ -1,9 +1,13 @@
 package com.Orio.gbp_tool.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,10 +23,26 @@ public class SimilarityScore {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    // Persisted rows only back the score cache, so the page text stays out of the table
+    @Transient
     @NonNull
     private PDFText text;
     @NonNull
     private String concept;
     @NonNull
     private Double score;
+    // Only filled when the analysis was requested, and never cached
+    @Transient
+    private String analysis;
+    // Set for scores derived from embedding similarity instead of the chat model
+    @Transient
+    private boolean approximate;
+    // Chat model and prompt template that produced the score, null for approximate scores
+    @Transient
+    private String model;
+    @Transient
+    private String promptVersion;
+    @JsonIgnore
+    @Column(unique = true, length = 64)
+    private String cacheKey;
 }
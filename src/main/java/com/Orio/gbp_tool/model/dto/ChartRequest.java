@@ -2,6 +2,8 @@ package com.Orio.gbp_tool.model.dto;
 
 import java.util.List;
 
+import com.Orio.gbp_tool.model.ScoringMode;
+
 import lombok.Data;
 
 @Data
@@ -9,4 +11,5 @@ public class ChartRequest {
     private List<String> concepts;
     private List<String> pdfs;
     private String label;
+    private ScoringMode mode = ScoringMode.FULL;
 }
@@ -0,0 +1,86 @@
+package com.Orio.gbp_tool.model.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import com.Orio.gbp_tool.model.JobStatus;
+import com.Orio.gbp_tool.model.JobType;
+import com.Orio.gbp_tool.model.ScoringJob;
+import com.Orio.gbp_tool.model.ScoringMode;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class JobStatusResponse {
+    Long id;
+    JobType type;
+    JobStatus status;
+    ScoringMode mode;
+    boolean includeAnalysis;
+    String label;
+    List<String> concepts;
+    int totalTasks;
+    int completedTasks;
+    int failedTasks;
+    // Fraction of the planned tasks that are done, from 0 to 1
+    double progress;
+    // Estimated seconds until the job finishes, null while unknown
+    Long etaSeconds;
+    List<String> pdfsNotFound;
+    String message;
+    Instant createdAt;
+    Instant startedAt;
+    Instant finishedAt;
+
+    /**
+     * Creates a snapshot of the job, extrapolating the remaining time from the
+     * rate at which tasks have completed so far. The job is read under its lock,
+     * as scoring threads update it concurrently.
+     *
+     * @param job The job.
+     * @return The job status.
+     */
+    public static JobStatusResponse from(ScoringJob job) {
+        synchronized (job) {
+            return snapshot(job);
+        }
+    }
+
+    private static JobStatusResponse snapshot(ScoringJob job) {
+        int done = job.getCompletedTasks() + job.getFailedTasks();
+        int total = job.getTotalTasks();
+        double progress = job.getStatus() == JobStatus.COMPLETED ? 1.0
+                : total > 0 ? Math.min(1.0, (double) done / total) : 0.0;
+
+        Long etaSeconds = null;
+        if (job.getStatus() == JobStatus.RUNNING && job.getStartedAt() != null && done > 0 && total > done) {
+            long elapsedMillis = Duration.between(job.getStartedAt(), Instant.now()).toMillis();
+            etaSeconds = elapsedMillis * (total - done) / done / 1000;
+        } else if (job.getStatus() == JobStatus.COMPLETED || job.getStatus() == JobStatus.FAILED) {
+            etaSeconds = 0L;
+        }
+
+        return JobStatusResponse.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .mode(job.getMode())
+                .includeAnalysis(Boolean.TRUE.equals(job.getIncludeAnalysis()))
+                .label(job.getLabel())
+                .concepts(job.getConcepts())
+                .totalTasks(total)
+                .completedTasks(job.getCompletedTasks())
+                .failedTasks(job.getFailedTasks())
+                .progress(progress)
+                .etaSeconds(etaSeconds)
+                .pdfsNotFound(job.getPdfsNotFound())
+                .message(job.getMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.Orio.gbp_tool.repository;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+
+import com.Orio.gbp_tool.model.Concept;
+
+public interface IAsyncGraphDatabaseRepo {
+
+    CompletionStage<List<Concept>> getConcepts();
+
+    CompletionStage<Long> streamConcepts(Consumer<Concept> consumer);
+
+    CompletionStage<Boolean> existsTextWithLabel(String label);
+}
@@ -3,10 +3,13 @@ package com.Orio.gbp_tool.repository;
 import com.Orio.gbp_tool.exception.ConceptNotRemovedException;
 import com.Orio.gbp_tool.exception.TextAlreadyInTheDatabaseException;
 import com.Orio.gbp_tool.model.PDFText;
+import com.Orio.gbp_tool.model.ScoreProvenance;
 import com.Orio.gbp_tool.model.SimilarityScore;
 import com.Orio.gbp_tool.model.Concept;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface IGraphDatabaseRepo {
 
@@ -18,5 +21,10 @@ public interface IGraphDatabaseRepo {
 
     void addConcept(List<SimilarityScore> scores, String concept);
 
+    Map<String, Map<String, Double>> getScores(List<String> concepts, Collection<String> contentHashes,
+            ScoreProvenance provenance);
+
     boolean removeConcept(String concept) throws ConceptNotRemovedException;
+
+    int removeConcepts(List<String> concepts) throws ConceptNotRemovedException;
 }
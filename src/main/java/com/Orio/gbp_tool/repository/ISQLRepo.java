@@ -1,15 +1,21 @@
 package com.Orio.gbp_tool.repository;
 
 import java.io.FileNotFoundException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.web.multipart.MultipartFile;
 
 import com.Orio.gbp_tool.exception.ChartNotFoundException;
 import com.Orio.gbp_tool.exception.FileAlreadyInTheDatabaseException;
 import com.Orio.gbp_tool.exception.FileDataReadingException;
+import com.Orio.gbp_tool.exception.PageNotFoundException;
 import com.Orio.gbp_tool.model.ChartData;
+import com.Orio.gbp_tool.model.ChartSeries;
 import com.Orio.gbp_tool.model.FileEntity;
+import com.Orio.gbp_tool.model.PDFText;
+import com.Orio.gbp_tool.model.PageScore;
 import com.Orio.gbp_tool.model.TextSearchResult;
 
 public interface ISQLRepo {
@@ -20,10 +26,14 @@ public interface ISQLRepo {
 
     void removeFile(String title) throws FileNotFoundException;
 
-    List<FileEntity> getTexts() throws Exception;
+    List<String> getTitles();
 
     TextSearchResult getTexts(List<String> names);
 
+    List<PDFText> getPages(String title) throws FileNotFoundException;
+
+    PDFText getPage(Long id) throws PageNotFoundException;
+
     FileEntity getText(String title) throws FileNotFoundException;
 
     void saveChart(ChartData data);
@@ -31,4 +41,20 @@ public interface ISQLRepo {
     void removeChart(String label) throws ChartNotFoundException;
 
     ChartData getChart(String label) throws ChartNotFoundException;
+
+    ChartSeries getChartSeries(String label, String concept) throws ChartNotFoundException;
+
+    List<String> getChartLabels();
+
+    List<String> getChartConcepts(String label) throws ChartNotFoundException;
+
+    List<PDFText> getChartPages(String label) throws ChartNotFoundException;
+
+    void addChartSeries(String label, Map<String, List<PageScore>> series) throws ChartNotFoundException;
+
+    int removeChartSeries(String label, List<String> concepts) throws ChartNotFoundException;
+
+    void addChartPoints(String label, Map<String, List<PageScore>> points) throws ChartNotFoundException;
+
+    long removeChartPoints(String label, Collection<Long> pageIds) throws ChartNotFoundException;
 }
@@ -0,0 +1,194 @@
+package com.Orio.gbp_tool.repository.impl.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.ResultCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+
+import com.Orio.gbp_tool.model.Concept;
+import com.Orio.gbp_tool.repository.IAsyncGraphDatabaseRepo;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Non-blocking counterpart of {@link Neo4jRepo} built on the driver's async
+ * session API. Queries run on the driver's I/O threads, so waiting for the
+ * database does not hold a request thread. Streamed records are handed to their
+ * consumer on a separate executor, and the next record is only fetched once the
+ * consumer returns, so a slow client neither blocks the I/O threads nor makes
+ * records pile up in memory. Streams run outside managed transactions, so a
+ * failure ends the stream instead of resending rows the consumer already got.
+ */
+@Repository
+@RequiredArgsConstructor
+public class Neo4jAsyncRepo implements IAsyncGraphDatabaseRepo {
+
+    // Constants for validation messages
+    private static final String CONSUMER_NOT_NULL_MESSAGE = "Provided consumer cannot be null";
+    private static final String LABEL_NOT_EMPTY_MESSAGE = "Provided label cannot be empty";
+
+    // Constants for Cypher queries
+    private static final String GET_CONCEPTS_CYPHER_QUERY = "MATCH (c:Concept)-[r:SIMILARITY]->(t:TextNode) " +
+            "RETURN c.name as name, collect(t.name) as associatedTexts ORDER BY name";
+    // One row per scored text, grouped into concepts while streaming instead of collected on the server
+    private static final String STREAM_CONCEPTS_CYPHER_QUERY = "MATCH (c:Concept)-[r:SIMILARITY]->(t:TextNode) " +
+            "WHERE c.name IS NOT NULL " +
+            "RETURN c.name AS name, t.name AS text ORDER BY name";
+    private static final String EXISTS_TEXT_CYPHER_QUERY = "MATCH (s:Source {name: $source}) WHERE s.complete " +
+            "RETURN s LIMIT 1";
+
+    private static final Logger logger = LoggerFactory.getLogger(Neo4jAsyncRepo.class);
+    private final Driver driver;
+    @Qualifier("graphStreamExecutor")
+    private final ExecutorService graphStreamExecutor;
+
+    @Override
+    public CompletionStage<List<Concept>> getConcepts() {
+        logger.info("Starting async getConcepts method");
+        return executeRead(session -> session.executeReadAsync(tx -> tx.runAsync(GET_CONCEPTS_CYPHER_QUERY)
+                .thenCompose(cursor -> cursor.listAsync(this::toConcept))));
+    }
+
+    @Override
+    public CompletionStage<Long> streamConcepts(Consumer<Concept> consumer) {
+        logger.info("Starting streamConcepts method");
+        Assert.notNull(consumer, CONSUMER_NOT_NULL_MESSAGE);
+
+        AtomicLong count = new AtomicLong();
+        Consumer<Concept> counting = concept -> {
+            consumer.accept(concept);
+            count.incrementAndGet();
+        };
+        // Auto-commit rather than a managed transaction, which the driver may retry and so resend the rows
+        return executeRead(session -> session.runAsync(STREAM_CONCEPTS_CYPHER_QUERY)
+                .thenCompose(cursor -> {
+                    CompletableFuture<Void> done = new CompletableFuture<>();
+                    forwardConcepts(cursor, new ConceptRows(), counting, done);
+                    return done;
+                }))
+                .thenApply(ignored -> {
+                    logger.info("Streamed {} concepts", count.get());
+                    return count.get();
+                });
+    }
+
+    @Override
+    public CompletionStage<Boolean> existsTextWithLabel(String label) {
+        logger.info("Starting async existsTextWithLabel method with label: {}", label);
+        Assert.hasText(label, LABEL_NOT_EMPTY_MESSAGE);
+
+        return executeRead(session -> session.executeReadAsync(tx -> tx
+                .runAsync(EXISTS_TEXT_CYPHER_QUERY, Values.parameters("source", label))
+                .thenCompose(cursor -> cursor.peekAsync())
+                .thenApply(record -> record != null)));
+    }
+
+    // Private Helper Methods
+
+    /**
+     * Opens an async read session, runs the work in it and closes the session
+     * once the work completes, whether it succeeded or failed.
+     *
+     * @param work The work to run in the session.
+     * @return The result of the work.
+     */
+    private <T> CompletionStage<T> executeRead(Function<AsyncSession, CompletionStage<T>> work) {
+        AsyncSession session = driver.session(AsyncSession.class,
+                SessionConfig.builder().withDefaultAccessMode(AccessMode.READ).build());
+        return work.apply(session)
+                .handle((result, error) -> session.closeAsync().handle((closed, closeError) -> {
+                    if (error != null) {
+                        logger.error("Error executing async read", error);
+                        throw error instanceof CompletionException ce ? ce : new CompletionException(error);
+                    }
+                    return result;
+                }))
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Fetches the next row of the cursor and adds it to the current concept on
+     * the stream executor, passing the concept to the consumer once a row of
+     * the next concept arrives. Each row is fetched only after the previous one
+     * was handled, without nesting the futures of earlier rows.
+     *
+     * @param cursor   The cursor over the concept rows, ordered by concept.
+     * @param rows     The rows of the current concept.
+     * @param consumer The consumer of the concepts.
+     * @param done     Completed once all rows are handled, or with the error.
+     */
+    private void forwardConcepts(ResultCursor cursor, ConceptRows rows, Consumer<Concept> consumer,
+            CompletableFuture<Void> done) {
+        cursor.nextAsync().thenAcceptAsync(record -> {
+            if (record == null) {
+                rows.flush(consumer);
+                done.complete(null);
+                return;
+            }
+            String name = record.get("name").asString();
+            if (!name.equals(rows.name)) {
+                rows.flush(consumer);
+                rows.name = name;
+            }
+            if (!record.get("text").isNull()) {
+                rows.texts.add(record.get("text").asString());
+            }
+            forwardConcepts(cursor, rows, consumer, done);
+        }, graphStreamExecutor).exceptionally(error -> {
+            done.completeExceptionally(error);
+            return null;
+        });
+    }
+
+    /**
+     * Maps a concept record to a Concept.
+     *
+     * @param record The record returned by the concepts query.
+     * @return The concept.
+     */
+    private Concept toConcept(Record record) {
+        String name = record.get("name").asString();
+        List<String> associatedTexts = record.get("associatedTexts").asList(Values.ofString());
+        return new Concept(name, associatedTexts);
+    }
+
+    /**
+     * The rows of the concept being streamed.
+     */
+    private static final class ConceptRows {
+        private String name;
+        private List<String> texts = new ArrayList<>();
+
+        /**
+         * Passes the concept to the consumer, if there is one, and starts an
+         * empty one.
+         *
+         * @param consumer The consumer of the concepts.
+         */
+        private void flush(Consumer<Concept> consumer) {
+            if (name != null) {
+                consumer.accept(new Concept(name, texts));
+            }
+            name = null;
+            texts = new ArrayList<>();
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.Orio.gbp_tool.repository.impl.graph;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
 import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
 import org.neo4j.driver.Values;
@@ -14,12 +16,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
+import com.Orio.gbp_tool.config.properties.Neo4jProperties;
 import com.Orio.gbp_tool.exception.ConceptNotRemovedException;
 import com.Orio.gbp_tool.exception.TextAlreadyInTheDatabaseException;
 import com.Orio.gbp_tool.model.PDFText;
+import com.Orio.gbp_tool.model.ScoreProvenance;
+import com.Orio.gbp_tool.model.ScoringMode;
 import com.Orio.gbp_tool.model.SimilarityScore;
 import com.Orio.gbp_tool.model.Concept;
 import com.Orio.gbp_tool.repository.IGraphDatabaseRepo;
+import com.Orio.gbp_tool.util.HashUtil;
 
 import lombok.RequiredArgsConstructor;
 
@@ -31,6 +37,8 @@ public class Neo4jRepo implements IGraphDatabaseRepo {
     private static final String TEXTS_NOT_NULL_MESSAGE = "Provided texts cannot be null";
     private static final String TEXTS_NOT_EMPTY_MESSAGE = "Provided texts cannot be empty";
     private static final String LABEL_NOT_EMPTY_MESSAGE = "Provided label cannot be empty";
+    private static final String CONCEPTS_NOT_EMPTY_MESSAGE = "Provided concepts cannot be empty";
+    private static final String PROVENANCE_NOT_NULL_MESSAGE = "Provided score provenance cannot be null";
 
     // Constants for exception messages
     private static final String TEXT_ALREADY_IN_DATABASE_MESSAGE = "Text with the provided label \"%s\" already exists in the database";
@@ -38,26 +46,60 @@ public class Neo4jRepo implements IGraphDatabaseRepo {
     private static final String TEXT_EXISTENCE_CHECK_FAILURE_MESSAGE = "Failed to check if text exists";
     private static final String TEXT_REMOVAL_FAILURE_MESSAGE = "Failed to remove text from database";
     private static final String NO_NODES_FOUND_MESSAGE = "No nodes found with label: %s";
+    private static final String SCORES_READ_FAILURE_MESSAGE = "Failed to read stored scores from database";
+    private static final String CONCEPT_NOT_FOUND_MESSAGE = "Failed to remove concept. No concept named \"%s\" exists";
+    private static final String CONCEPT_REMOVAL_FAILURE_MESSAGE = "Failed to remove concept \"%s\" from database";
+    private static final String CONCEPTS_REMOVAL_FAILURE_MESSAGE = "Failed to remove concepts. Removed %d before the failure";
 
     // Constants for Cypher queries
-    private static final String SAVE_CYPHER_QUERY_TEMPLATE = "UNWIND $texts AS text CREATE (n:%s {content: text.content, name: text.name})";
-    private static final String EXISTS_TEXT_CYPHER_QUERY_TEMPLATE = "MATCH (n:%s) RETURN n LIMIT 1";
-    private static final String REMOVE_TEXT_CYPHER_QUERY_TEMPLATE = "MATCH (n:%s) DELETE n";
+    // Pages are shared by content, so each text links its pages from a Source node named by its title
+    private static final String SAVE_CYPHER_QUERY = "MERGE (s:Source {name: $source}) " +
+            "WITH s " +
+            "UNWIND $texts AS text " +
+            "MERGE (n:TextNode {contentHash: text.contentHash}) " +
+            "ON CREATE SET n.content = text.content, n.name = text.name, n.pageId = text.pageId " +
+            "MERGE (s)-[:CONTAINS]->(n)";
+    // A text is complete once all its batches are written, an incomplete one is resumed by saving it again
+    private static final String EXISTS_TEXT_CYPHER_QUERY = "MATCH (s:Source {name: $source}) WHERE s.complete " +
+            "RETURN s LIMIT 1";
+    private static final String COMPLETE_TEXT_CYPHER_QUERY = "MATCH (s:Source {name: $source}) SET s.complete = true";
+    // Unlinks a batch of pages and deletes those no other text contains
+    private static final String REMOVE_TEXT_CYPHER_QUERY = "MATCH (:Source {name: $source}) " +
+            "-[r:CONTAINS]->(n:TextNode) " +
+            "WITH r, n LIMIT $limit " +
+            "DELETE r " +
+            "WITH n " +
+            "CALL { WITH n WITH n WHERE NOT (n)<-[:CONTAINS]-(:Source) DETACH DELETE n } " +
+            "RETURN count(*) AS unlinked";
+    private static final String DELETE_SOURCE_CYPHER_QUERY = "MATCH (s:Source {name: $source}) DETACH DELETE s";
     private static final String GET_CONCEPTS_CYPHER_QUERY = "MATCH (c:Concept)-[r:SIMILARITY]->(t:TextNode) " +
-            "RETURN c.name as name, collect(t.name) as associatedTexts";
-    private static final String ADD_CONCEPT_CYPHER_QUERY = "MERGE (c:Concept {name: $concept, text: $concept}) " +
+            "RETURN c.name as name, collect(t.name) as associatedTexts ORDER BY name";
+    // Both MERGE keys are backed by uniqueness constraints, see Neo4jSchemaInitializer
+    private static final String ADD_CONCEPT_CYPHER_QUERY = "MERGE (c:Concept {name: $concept}) " +
+            "ON CREATE SET c.text = $concept " +
             "WITH c " +
             "UNWIND $scores as score " +
-            "MERGE (n:TextNode {content: score.content}) " +
-            "ON CREATE SET n.name = score.name " +
+            "MERGE (n:TextNode {contentHash: score.contentHash}) " +
+            "ON CREATE SET n.content = score.content, n.name = score.name, n.pageId = score.pageId " +
+            "MERGE (s:Source {name: score.name}) " +
+            "MERGE (s)-[:CONTAINS]->(n) " +
             "MERGE (c)-[r:SIMILARITY]->(n) " +
-            "ON CREATE SET r.score = score.score " +
-            "ON MATCH SET r.score = score.score";
-    private static final String COUNT_CONCEPTS_CYPHER_QUERY = "MATCH (c:Concept) RETURN count(c) AS count";
+            // An approximate score never replaces a full one
+            "WITH r, score WHERE score.mode = $fullMode OR coalesce(r.mode, '') <> $fullMode " +
+            "SET r.score = score.score, r.analysis = score.analysis, r.mode = score.mode, " +
+            "r.model = score.model, r.promptVersion = score.promptVersion";
+    // Only full scores of the current model and prompts are reused, edges without a mode predate the provenance
+    private static final String GET_SCORES_CYPHER_QUERY = "MATCH (c:Concept)-[r:SIMILARITY]->(t:TextNode) " +
+            "WHERE c.name IN $concepts AND t.contentHash IN $hashes AND r.mode = $fullMode " +
+            "AND r.model = $model AND r.promptVersion IN $promptVersions " +
+            "RETURN c.name AS concept, t.contentHash AS contentHash, r.score AS score";
     private static final String DELETE_CONCEPT_CYPHER_QUERY = "MATCH (c:Concept {name: $concept}) DETACH DELETE c";
+    private static final String DELETE_CONCEPTS_CYPHER_QUERY = "UNWIND $concepts AS name " +
+            "MATCH (c:Concept {name: name}) DETACH DELETE c";
 
     private static final Logger logger = LoggerFactory.getLogger(Neo4jRepo.class);
     private final Driver driver;
+    private final Neo4jProperties neo4jProperties;
 
     @Override
     public void save(List<PDFText> texts, String label) throws TextAlreadyInTheDatabaseException {
@@ -69,17 +111,27 @@ public class Neo4jRepo implements IGraphDatabaseRepo {
                     String.format(TEXT_ALREADY_IN_DATABASE_MESSAGE, label));
         }
 
-        String cypherQuery = String.format(SAVE_CYPHER_QUERY_TEMPLATE, label);
         List<Map<String, Object>> params = prepareSaveParameters(texts);
+        int batchSize = neo4jProperties.getBatch().getWriteSize();
 
-        logger.debug("Cypher query: {}", cypherQuery);
-        logger.debug("Parameters: {}", params);
+        logger.debug("Cypher query: {}", SAVE_CYPHER_QUERY);
+        logger.debug("Parameters: source={}, texts={}", label, params);
 
+        int saved = 0;
         try (Session session = driver.session()) {
-            executeWriteTransaction(session, cypherQuery, "texts", params);
+            while (saved < params.size()) {
+                List<Map<String, Object>> batch = params.subList(saved, Math.min(params.size(), saved + batchSize));
+                session.executeWrite(tx -> tx.run(SAVE_CYPHER_QUERY,
+                        Values.parameters("source", label, "texts", batch)).consume());
+                saved += batch.size();
+                logger.info("Saved {}/{} text nodes of {}", saved, params.size(), label);
+            }
+            session.executeWrite(tx -> tx.run(COMPLETE_TEXT_CYPHER_QUERY, Values.parameters("source", label))
+                    .consume());
             logger.info("Save method executed successfully");
         } catch (Exception e) {
-            logger.error("Error executing save method", e);
+            // The text is not marked complete, so saving it again merges the written batches and resumes
+            logger.error("Error executing save method after saving {}/{} text nodes", saved, params.size(), e);
             throw new RuntimeException(TEXT_SAVE_FAILURE_MESSAGE, e);
         }
     }
@@ -89,20 +141,26 @@ public class Neo4jRepo implements IGraphDatabaseRepo {
         logger.info("Starting removeText method with label: {}", label);
         Assert.hasText(label, LABEL_NOT_EMPTY_MESSAGE);
 
-        String cypherQuery = String.format(REMOVE_TEXT_CYPHER_QUERY_TEMPLATE, label);
-
-        logger.debug("Cypher query: {}", cypherQuery);
+        int batchSize = neo4jProperties.getBatch().getDeleteSize();
+        logger.debug("Cypher query: {}", REMOVE_TEXT_CYPHER_QUERY);
         logger.debug("Label: {}", label);
 
         try (Session session = driver.session()) {
-            long deletedCount = session.executeWrite(tx -> {
-                Result result = tx.run(cypherQuery);
-                return (long) result.consume().counters().nodesDeleted();
-            });
-
-            logger.info("Deleted {} nodes with label {}", deletedCount, label);
-
-            if (deletedCount == 0) {
+            long unlinkedCount = 0;
+            long unlinkedInBatch;
+            do {
+                Record batch = session.executeWrite(tx -> tx.run(REMOVE_TEXT_CYPHER_QUERY,
+                        Values.parameters("source", label, "limit", batchSize)).single());
+                unlinkedInBatch = batch.get("unlinked").asLong();
+                unlinkedCount += unlinkedInBatch;
+                logger.debug("Unlinked {} nodes from label {} so far", unlinkedCount, label);
+            } while (unlinkedInBatch == batchSize);
+
+            int sourcesDeleted = session.executeWrite(tx -> tx.run(DELETE_SOURCE_CYPHER_QUERY,
+                    Values.parameters("source", label)).consume().counters().nodesDeleted());
+            logger.info("Unlinked {} nodes from label {}", unlinkedCount, label);
+
+            if (sourcesDeleted == 0) {
                 throw new RuntimeException(String.format(NO_NODES_FOUND_MESSAGE, label));
             }
         } catch (Exception e) {
@@ -149,7 +207,8 @@ public class Neo4jRepo implements IGraphDatabaseRepo {
         logger.debug("Parameters: concept={}, scores={}", concept, params);
 
         try (Session session = driver.session()) {
-            session.run(cypherQuery, Values.parameters("concept", concept, "scores", params));
+            session.run(cypherQuery, Values.parameters("concept", concept, "scores", params, "fullMode",
+                    ScoringMode.FULL.name()));
             logger.info("addConcept method executed successfully");
         } catch (Exception e) {
             logger.error("Error executing addConcept method", e);
@@ -157,52 +216,93 @@ public class Neo4jRepo implements IGraphDatabaseRepo {
         }
     }
 
+    @Override
+    public Map<String, Map<String, Double>> getScores(List<String> concepts, Collection<String> contentHashes,
+            ScoreProvenance provenance) {
+        logger.info("Starting getScores method for {} concepts and {} texts", concepts.size(), contentHashes.size());
+        Assert.notEmpty(concepts, CONCEPTS_NOT_EMPTY_MESSAGE);
+        Assert.notNull(provenance, PROVENANCE_NOT_NULL_MESSAGE);
+
+        Map<String, Map<String, Double>> scores = new HashMap<>();
+        if (contentHashes.isEmpty()) {
+            return scores;
+        }
+
+        try (Session session = driver.session()) {
+            List<Record> records = session.executeRead(tx -> tx.run(GET_SCORES_CYPHER_QUERY,
+                    Values.parameters("concepts", concepts, "hashes", List.copyOf(contentHashes), "fullMode",
+                            ScoringMode.FULL.name(), "model", provenance.getModel(), "promptVersions",
+                            List.copyOf(provenance.getPromptVersions()))).list());
+            for (Record record : records) {
+                if (record.get("score").isNull()) {
+                    continue;
+                }
+                scores.computeIfAbsent(record.get("concept").asString(), concept -> new HashMap<>())
+                        .put(record.get("contentHash").asString(), record.get("score").asDouble());
+            }
+            logger.info("getScores method found {} stored scores", records.size());
+        } catch (Exception e) {
+            logger.error("Error executing getScores method", e);
+            throw new RuntimeException(SCORES_READ_FAILURE_MESSAGE, e);
+        }
+        return scores;
+    }
+
     @Override
     public boolean removeConcept(String concept) throws ConceptNotRemovedException {
         logger.info("Starting removeConcept method with concept: {}", concept);
         Assert.hasText(concept, LABEL_NOT_EMPTY_MESSAGE);
 
-        int countBefore = -1;
-        int countAfter = -1;
+        int deleted;
+        try (Session session = driver.session()) {
+            deleted = session.executeWrite(tx -> tx.run(DELETE_CONCEPT_CYPHER_QUERY,
+                    Values.parameters("concept", concept)).consume().counters().nodesDeleted());
+        } catch (Exception e) {
+            logger.error("Error executing removeConcept method", e);
+            throw new ConceptNotRemovedException(String.format(CONCEPT_REMOVAL_FAILURE_MESSAGE, concept), e);
+        }
+
+        if (deleted == 0) {
+            logger.warn("Concept node with name '{}' not found", concept);
+            throw new ConceptNotRemovedException(String.format(CONCEPT_NOT_FOUND_MESSAGE, concept));
+        }
+        logger.info("Concept node with name '{}' deleted successfully", concept);
+        return true;
+    }
+
+    @Override
+    public int removeConcepts(List<String> concepts) throws ConceptNotRemovedException {
+        logger.info("Starting removeConcepts method with {} concepts", concepts == null ? 0 : concepts.size());
+        Assert.notEmpty(concepts, CONCEPTS_NOT_EMPTY_MESSAGE);
+
+        List<String> names = concepts.stream().distinct().toList();
+        int batchSize = neo4jProperties.getBatch().getDeleteSize();
+        int deleted = 0;
+        int processed = 0;
 
         try (Session session = driver.session()) {
-            // Count before deletion
-            countBefore = getConceptCount(session);
-            logger.info("Count of concept nodes before deletion: {}", countBefore);
-
-            // Perform deletion
-            session.run(DELETE_CONCEPT_CYPHER_QUERY, Values.parameters("concept", concept));
-            logger.info("Concept node with name '{}' deleted successfully", concept);
-
-            // Count after deletion
-            countAfter = getConceptCount(session);
-            logger.info("Count of concept nodes after deletion: {}", countAfter);
-
-            // Verify decrement
-            if (countAfter == countBefore - 1) {
-                logger.info("Concept node count decremented successfully");
-                return true;
-            } else {
-                logger.warn("Concept node count did not decrement as expected");
-                throw new ConceptNotRemovedException(String.format(
-                        "Failed to remove concept. Initial number of concepts was: %d. Number of concepts after failed removal is: %d",
-                        countBefore, countAfter));
+            while (processed < names.size()) {
+                List<String> batch = names.subList(processed, Math.min(names.size(), processed + batchSize));
+                deleted += session.executeWrite(tx -> tx.run(DELETE_CONCEPTS_CYPHER_QUERY,
+                        Values.parameters("concepts", batch)).consume().counters().nodesDeleted());
+                processed += batch.size();
+                logger.debug("Processed {}/{} concepts", processed, names.size());
             }
         } catch (Exception e) {
-            logger.error("Error executing removeConcept method", e);
-            throw new ConceptNotRemovedException(String.format(
-                    "Failed to remove concept. Initial number of concepts was: %d. Number of concepts after failed removal is: %d",
-                    countBefore, countAfter), e);
+            logger.error("Error executing removeConcepts method after removing {} concepts", deleted, e);
+            throw new ConceptNotRemovedException(String.format(CONCEPTS_REMOVAL_FAILURE_MESSAGE, deleted), e);
         }
+
+        logger.info("Removed {} of {} requested concepts", deleted, names.size());
+        return deleted;
     }
 
     public boolean existsTextWithLabel(String label) {
         logger.info("Starting existsTextWithLabel method with label: {}", label);
-        String cypherQuery = String.format(EXISTS_TEXT_CYPHER_QUERY_TEMPLATE, label);
-        logger.debug("Cypher query: {}", cypherQuery);
+        logger.debug("Cypher query: {}", EXISTS_TEXT_CYPHER_QUERY);
 
         try (Session session = driver.session()) {
-            Result result = session.run(cypherQuery);
+            Result result = session.run(EXISTS_TEXT_CYPHER_QUERY, Values.parameters("source", label));
             boolean exists = result.hasNext();
             logger.info("existsTextWithLabel method executed successfully, exists: {}", exists);
             return exists;
@@ -236,8 +336,10 @@ public class Neo4jRepo implements IGraphDatabaseRepo {
         List<Map<String, Object>> params = new ArrayList<>();
         for (PDFText text : texts) {
             Map<String, Object> param = new HashMap<>();
+            param.put("contentHash", HashUtil.sha256Hex(text.getText()));
             param.put("content", text.getText());
             param.put("name", text.getLabel());
+            param.put("pageId", text.getPageId());
             params.add(param);
         }
         return params;
@@ -253,41 +355,18 @@ public class Neo4jRepo implements IGraphDatabaseRepo {
         List<Map<String, Object>> params = new ArrayList<>();
         for (SimilarityScore score : scores) {
             Map<String, Object> map = new HashMap<>();
+            map.put("contentHash", HashUtil.sha256Hex(score.getText().getText()));
             map.put("content", score.getText().getText());
             map.put("name", score.getText().getSource());
+            map.put("pageId", score.getText().getPageId());
             map.put("score", score.getScore());
+            map.put("analysis", score.getAnalysis());
+            map.put("mode", score.isApproximate() ? ScoringMode.EMBEDDING_PREFILTER.name()
+                    : ScoringMode.FULL.name());
+            map.put("model", score.getModel());
+            map.put("promptVersion", score.getPromptVersion());
             params.add(map);
         }
         return params;
     }
-
-    /**
-     * Executes a write transaction without returning a result.
-     *
-     * @param session     The Neo4j session.
-     * @param cypherQuery The Cypher query string.
-     * @param paramKey    The parameter key.
-     * @param paramValue  The parameter value.
-     */
-    private void executeWriteTransaction(Session session, String cypherQuery, String paramKey, Object paramValue) {
-        session.executeWrite(tx -> {
-            if (paramKey != null && paramValue != null) {
-                tx.run(cypherQuery, Values.parameters(paramKey, paramValue));
-            } else {
-                tx.run(cypherQuery);
-            }
-            return null;
-        });
-    }
-
-    /**
-     * Retrieves the current count of Concept nodes in the database.
-     *
-     * @param session The Neo4j session.
-     * @return The count of Concept nodes.
-     */
-    private int getConceptCount(Session session) {
-        Result result = session.run(COUNT_CONCEPTS_CYPHER_QUERY);
-        return result.single().get("count").asInt();
-    }
 }
@@ -0,0 +1,159 @@
+package com.Orio.gbp_tool.repository.impl.graph;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.Orio.gbp_tool.util.HashUtil;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Creates the constraints and indexes the graph queries rely on, after giving
+ * text nodes created before content hashes existed their hash. Pages stored
+ * under a label named after their text are then moved to text nodes linked
+ * from a source node.
+ */
+@Component
+@RequiredArgsConstructor
+public class Neo4jSchemaInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(Neo4jSchemaInitializer.class);
+
+    // Constants for schema statements
+    private static final List<String> SCHEMA_STATEMENTS = List.of(
+            "CREATE CONSTRAINT concept_name_unique IF NOT EXISTS FOR (c:Concept) REQUIRE c.name IS UNIQUE",
+            "CREATE CONSTRAINT text_node_content_hash_unique IF NOT EXISTS "
+                    + "FOR (n:TextNode) REQUIRE n.contentHash IS UNIQUE",
+            "CREATE CONSTRAINT source_name_unique IF NOT EXISTS FOR (s:Source) REQUIRE s.name IS UNIQUE",
+            "CREATE INDEX text_node_page_id IF NOT EXISTS FOR (n:TextNode) ON (n.pageId)");
+
+    // Constants for backfill queries
+    private static final String FIND_UNHASHED_CYPHER_QUERY = "MATCH (n:TextNode) "
+            + "WHERE n.contentHash IS NULL AND n.content IS NOT NULL "
+            + "RETURN elementId(n) AS id, n.content AS content LIMIT $limit";
+    private static final String SET_HASHES_CYPHER_QUERY = "UNWIND $rows AS row "
+            + "MATCH (n:TextNode) WHERE elementId(n) = row.id "
+            + "SET n.contentHash = row.contentHash";
+    // Pages were stored with only their text's title as label, concepts never stored content
+    private static final String FIND_TITLE_LABELED_CYPHER_QUERY = "MATCH (n) "
+            + "WHERE n.content IS NOT NULL AND size(labels(n)) > 0 AND NOT n:TextNode AND NOT n:Source "
+            + "AND NOT n:Concept "
+            + "RETURN elementId(n) AS id, labels(n) AS sources, n.content AS content, n.name AS name "
+            + "LIMIT $limit";
+    private static final String MOVE_TITLE_LABELED_CYPHER_QUERY = "UNWIND $rows AS row "
+            + "MATCH (old) WHERE elementId(old) = row.id "
+            + "MERGE (n:TextNode {contentHash: row.contentHash}) "
+            + "ON CREATE SET n.content = row.content, n.name = row.name "
+            + "WITH old, n, row "
+            + "UNWIND row.sources AS source "
+            + "MERGE (s:Source {name: source}) "
+            + "SET s.complete = true "
+            + "MERGE (s)-[:CONTAINS]->(n) "
+            + "WITH DISTINCT old "
+            + "DETACH DELETE old";
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private final Driver driver;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeSchema() {
+        try (Session session = driver.session()) {
+            backfillContentHashes(session);
+
+            for (String statement : SCHEMA_STATEMENTS) {
+                try {
+                    session.executeWrite(tx -> tx.run(statement).consume());
+                    logger.debug("Applied schema statement: {}", statement);
+                } catch (Exception e) {
+                    // Typically existing duplicates, the remaining statements are still applied
+                    logger.error("Failed to apply schema statement: {}", statement, e);
+                }
+            }
+
+            migrateTitleLabels(session);
+            logger.info("Neo4j schema initialized");
+        } catch (Exception e) {
+            logger.error("Failed to initialize Neo4j schema", e);
+        }
+    }
+
+    /**
+     * Sets the content hash of text nodes merged by content before hashes were
+     * stored, so merges by hash find them.
+     *
+     * @param session The Neo4j session.
+     */
+    private void backfillContentHashes(Session session) {
+        long total = 0;
+        List<Map<String, Object>> rows;
+        do {
+            rows = session.executeRead(tx -> tx
+                    .run(FIND_UNHASHED_CYPHER_QUERY, Values.parameters("limit", BACKFILL_BATCH_SIZE))
+                    .list(this::toHashRow));
+            if (!rows.isEmpty()) {
+                List<Map<String, Object>> batch = rows;
+                session.executeWrite(tx -> tx.run(SET_HASHES_CYPHER_QUERY, Values.parameters("rows", batch))
+                        .consume());
+                total += rows.size();
+            }
+        } while (rows.size() == BACKFILL_BATCH_SIZE);
+
+        if (total > 0) {
+            logger.info("Set content hashes of {} text nodes", total);
+        }
+    }
+
+    /**
+     * Moves pages stored under a label named after their text to the text node
+     * with the same content, linked from the source node of that text. The
+     * texts were already stored, so their sources are marked complete.
+     *
+     * @param session The Neo4j session.
+     */
+    private void migrateTitleLabels(Session session) {
+        long total = 0;
+        List<Map<String, Object>> rows;
+        do {
+            rows = session.executeRead(tx -> tx
+                    .run(FIND_TITLE_LABELED_CYPHER_QUERY, Values.parameters("limit", BACKFILL_BATCH_SIZE))
+                    .list(this::toTitleLabeledRow));
+            if (!rows.isEmpty()) {
+                List<Map<String, Object>> batch = rows;
+                session.executeWrite(tx -> tx.run(MOVE_TITLE_LABELED_CYPHER_QUERY, Values.parameters("rows", batch))
+                        .consume());
+                total += rows.size();
+            }
+        } while (rows.size() == BACKFILL_BATCH_SIZE);
+
+        if (total > 0) {
+            logger.info("Moved {} title labeled pages to text nodes", total);
+        }
+    }
+
+    private Map<String, Object> toHashRow(Record record) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", record.get("id").asString());
+        row.put("contentHash", HashUtil.sha256Hex(record.get("content").asString()));
+        return row;
+    }
+
+    private Map<String, Object> toTitleLabeledRow(Record record) {
+        Map<String, Object> row = toHashRow(record);
+        row.put("sources", record.get("sources").asList(Value::asString));
+        row.put("content", record.get("content").asString());
+        row.put("name", record.get("name").asString(null));
+        return row;
+    }
+}
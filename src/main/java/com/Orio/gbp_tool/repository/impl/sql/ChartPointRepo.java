@@ -0,0 +1,24 @@
+package com.Orio.gbp_tool.repository.impl.sql;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.Orio.gbp_tool.model.ChartPoint;
+
+@Repository
+public interface ChartPointRepo extends JpaRepository<ChartPoint, Long> {
+
+    List<ChartPoint> findBySeriesIdOrderByPosition(Long seriesId);
+
+    List<ChartPoint> findBySeriesIdInOrderBySeriesIdAscPositionAsc(Collection<Long> seriesIds);
+
+    Optional<ChartPoint> findFirstBySeriesIdOrderByPositionDesc(Long seriesId);
+
+    void deleteBySeriesIdIn(Collection<Long> seriesIds);
+
+    long deleteBySeriesIdInAndPageIdIn(Collection<Long> seriesIds, Collection<Long> pageIds);
+}
@@ -1,6 +1,10 @@
 package com.Orio.gbp_tool.repository.impl.sql;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.Orio.gbp_tool.model.ChartData;
@@ -8,4 +12,8 @@ import com.Orio.gbp_tool.model.ChartData;
 @Repository
 public interface ChartRepo extends JpaRepository<ChartData, Long> {
 
+    Optional<ChartData> findFirstByLabel(String label);
+
+    @Query("select c.label from ChartData c order by c.label")
+    List<String> findAllLabels();
 }
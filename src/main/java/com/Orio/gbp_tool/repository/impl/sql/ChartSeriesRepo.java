@@ -0,0 +1,26 @@
+package com.Orio.gbp_tool.repository.impl.sql;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.Orio.gbp_tool.model.ChartSeries;
+
+@Repository
+public interface ChartSeriesRepo extends JpaRepository<ChartSeries, Long> {
+
+    List<ChartSeries> findByChartIdOrderByPosition(Long chartId);
+
+    Optional<ChartSeries> findFirstByChartIdAndConcept(Long chartId, String concept);
+
+    Optional<ChartSeries> findFirstByChartIdOrderByPositionDesc(Long chartId);
+
+    List<ChartSeries> findByChartIdAndConceptIn(Long chartId, Collection<String> concepts);
+
+    boolean existsByChartId(Long chartId);
+
+    void deleteByChartId(Long chartId);
+}
@@ -1,11 +1,37 @@
 package com.Orio.gbp_tool.repository.impl.sql;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.Orio.gbp_tool.model.FileEntity;
 
 @Repository
 public interface FileRepo extends JpaRepository<FileEntity, Long> {
 
+    Optional<FileEntity> findByTitle(String title);
+
+    List<FileEntity> findByTitleIn(Collection<String> titles);
+
+    @Query("select f.title from FileEntity f order by f.title")
+    List<String> findAllTitles();
+
+    Optional<FileEntity> findByContentHash(String contentHash);
+
+    boolean existsByTitle(String title);
+
+    List<FileEntity> findByContentHashIsNull();
+
+    // Updates only the flag, so a detached file is not merged back together with its blob
+    @Modifying
+    @Transactional
+    @Query("update FileEntity f set f.pagesExtracted = true where f.id = :id")
+    int markPagesExtracted(@Param("id") Long id);
 }
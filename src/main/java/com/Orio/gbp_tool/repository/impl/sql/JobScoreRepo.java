@@ -0,0 +1,18 @@
+package com.Orio.gbp_tool.repository.impl.sql;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Orio.gbp_tool.model.JobScore;
+
+@Repository
+public interface JobScoreRepo extends JpaRepository<JobScore, Long> {
+
+    List<JobScore> findByJobId(Long jobId);
+
+    @Transactional
+    long deleteByJobId(Long jobId);
+}
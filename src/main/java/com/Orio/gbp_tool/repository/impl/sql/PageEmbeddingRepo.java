@@ -0,0 +1,15 @@
+package com.Orio.gbp_tool.repository.impl.sql;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.Orio.gbp_tool.model.PageEmbedding;
+
+@Repository
+public interface PageEmbeddingRepo extends JpaRepository<PageEmbedding, Long> {
+
+    List<PageEmbedding> findByEmbeddingKeyIn(Collection<String> embeddingKeys);
+}
@@ -0,0 +1,19 @@
+package com.Orio.gbp_tool.repository.impl.sql;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.Orio.gbp_tool.model.PageEntity;
+
+@Repository
+public interface PageRepo extends JpaRepository<PageEntity, Long> {
+
+    List<PageEntity> findByFileIdOrderByPageNumber(Long fileId);
+
+    List<PageEntity> findByContentHashIn(Collection<String> contentHashes);
+
+    void deleteByFileId(Long fileId);
+}
@@ -2,27 +2,56 @@ package com.Orio.gbp_tool.repository.impl.sql;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.hibernate.engine.jdbc.BlobProxy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.Orio.gbp_tool.exception.ChartNotFoundException;
 import com.Orio.gbp_tool.exception.FileAlreadyInTheDatabaseException;
 import com.Orio.gbp_tool.exception.FileDataReadingException;
+import com.Orio.gbp_tool.exception.PageNotFoundException;
 import com.Orio.gbp_tool.model.ChartData;
+import com.Orio.gbp_tool.model.ChartPoint;
+import com.Orio.gbp_tool.model.ChartSeries;
 import com.Orio.gbp_tool.model.FileEntity;
 import com.Orio.gbp_tool.model.PDFText;
+import com.Orio.gbp_tool.model.PageEntity;
+import com.Orio.gbp_tool.model.PageScore;
+import com.Orio.gbp_tool.model.SimilarityScore;
 import com.Orio.gbp_tool.model.TextSearchResult;
 import com.Orio.gbp_tool.repository.ISQLRepo;
 import com.Orio.gbp_tool.service.ITextProcessorService;
+import com.Orio.gbp_tool.util.HashUtil;
 
 import lombok.RequiredArgsConstructor;
 
@@ -38,16 +67,28 @@ public class PostgresRepo implements ISQLRepo {
     private static final String ERROR_NULL_FILE = "Provided file was null";
     private static final String ERROR_NOT_PDF = "File is not a PDF";
     private static final String ERROR_FILE_EXISTS = "File with name: \"%s\" and provided title \"%s\" already exists in the database";
+    private static final String ERROR_CONTENT_EXISTS = "File with name: \"%s\" has the same content as \"%s\" already in the database";
     private static final String ERROR_FILE_NOT_FOUND = "File not found with the following title: %s";
     private static final String ERROR_CHART_NOT_FOUND = "No chart found with the following label \"%s\". Found charts: %s";
+    private static final String ERROR_SERIES_NOT_FOUND = "No series for concept \"%s\" in chart \"%s\"";
+    private static final String ERROR_PAGE_NOT_FOUND = "No page found with the following id: %s";
+    private static final String ERROR_NULL_PAGE_ID = "Provided page id cannot be null";
+    private static final String ERROR_EMPTY_CONCEPT = "Provided concept cannot be empty";
+    private static final String ERROR_EMPTY_FILE = "Provided file is empty";
     private static final String PDF_EXTENSION = ".pdf";
+    private static final String TEMP_FILE_PREFIX = "gbp-upload-";
 
     private final FileRepo fileRepo;
     @SuppressWarnings("unused")
     private final SimilarityScoreRepo similarityScoreRepo;
     private final ITextProcessorService textProcessorService;
     private final ChartRepo chartRepo;
+    private final PageRepo pageRepo;
+    private final ChartSeriesRepo chartSeriesRepo;
+    private final ChartPointRepo chartPointRepo;
+    private final TransactionTemplate transactionTemplate;
 
+    // Not transactional: the file row commits on its own, so a failed extraction cannot roll back the upload
     @Override
     public void saveFile(MultipartFile file, String title)
             throws IllegalArgumentException, FileDataReadingException, FileAlreadyInTheDatabaseException {
@@ -60,65 +101,133 @@ public class PostgresRepo implements ISQLRepo {
             throw new IllegalArgumentException(ERROR_NOT_PDF);
         }
 
-        if (this.fileAlreadyExists(file, title)) {
-            throw new FileAlreadyInTheDatabaseException(
-                    String.format(ERROR_FILE_EXISTS, file.getOriginalFilename(), title));
+        if (file.isEmpty()) {
+            logger.warn("File is empty: {}", file.getOriginalFilename());
+            throw new FileDataReadingException(ERROR_EMPTY_FILE);
         }
 
-        FileEntity fileEntity = new FileEntity();
-        fileEntity.setTitle(title);
-        logger.debug("Title set");
+        SpooledUpload upload = null;
         try {
-            logger.debug("Parsing content from the file");
-            byte[] fileContent = file.getBytes();
-            logger.debug("File Content: {}",
-                    Arrays.copyOfRange(fileContent, 0, (5 > fileContent.length ? fileContent.length : 5)));
-            fileEntity.setData(fileContent);
-            logger.debug("File data set successfully for title: \"{}\"", title);
-
-            fileRepo.save(fileEntity);
-            logger.info("File saved successfully with title: \"{}\"", title);
+            logger.debug("Spooling content of the file to disk");
+            upload = spoolToTempFile(file);
+
+            checkNotAlreadyStored(file, title, upload.contentHash());
+
+            FileEntity fileEntity = new FileEntity();
+            fileEntity.setTitle(title);
+            fileEntity.setSize(upload.size());
+            fileEntity.setContentHash(upload.contentHash());
+            logger.debug("Title set");
+
+            try (InputStream content = Files.newInputStream(upload.path())) {
+                fileEntity.setData(BlobProxy.generateProxy(content, upload.size()));
+                fileEntity = saveNewFile(fileEntity, file);
+            }
+            logger.info("File saved successfully with title: \"{}\", size: {} bytes", title, upload.size());
+
+            extractPagesQuietly(fileEntity, upload.path());
         } catch (IOException e) {
             logger.error("Error reading file data for title: \"{}\", error: {}", title, e);
             throw new FileDataReadingException(e.getMessage(), e.getCause());
+        } finally {
+            deleteQuietly(upload != null ? upload.path() : null);
         }
         logger.info("Exiting saveFile method with title: \"{}\"", title);
     }
 
-    private boolean fileAlreadyExists(MultipartFile file, String title) throws FileDataReadingException {
-        List<FileEntity> allFiles = fileRepo.findAll();
+    /**
+     * Checks that neither the title nor the content is stored yet. The content
+     * check is a single lookup of the indexed digest, so it also catches the
+     * same book uploaded under another title.
+     *
+     * @param file        The uploaded file.
+     * @param title       The title of the upload.
+     * @param contentHash The SHA-256 of the upload.
+     * @throws FileAlreadyInTheDatabaseException If the title or content exists.
+     */
+    private void checkNotAlreadyStored(MultipartFile file, String title, String contentHash)
+            throws FileAlreadyInTheDatabaseException {
+        if (fileRepo.existsByTitle(title)) {
+            throw new FileAlreadyInTheDatabaseException(
+                    String.format(ERROR_FILE_EXISTS, file.getOriginalFilename(), title));
+        }
+
+        Optional<FileEntity> sameContent = fileRepo.findByContentHash(contentHash);
+        if (sameContent.isPresent()) {
+            logger.warn("Content of \"{}\" is already stored as \"{}\"", title, sameContent.get().getTitle());
+            throw new FileAlreadyInTheDatabaseException(
+                    String.format(ERROR_CONTENT_EXISTS, file.getOriginalFilename(), sameContent.get().getTitle()));
+        }
+    }
 
+    /**
+     * Inserts a new file. The lookup in
+     * {@link #checkNotAlreadyStored(MultipartFile, String, String)} does not
+     * stop two concurrent uploads of the same title or content, so the unique
+     * constraint that rejects the second insert is reported the same way.
+     *
+     * @param fileEntity The file to insert.
+     * @param file       The uploaded file.
+     * @return The saved file.
+     * @throws FileAlreadyInTheDatabaseException If the title or content was
+     *                                           stored concurrently.
+     */
+    private FileEntity saveNewFile(FileEntity fileEntity, MultipartFile file)
+            throws FileAlreadyInTheDatabaseException {
         try {
-            byte[] newFileContent = file.getBytes();
-            int length = newFileContent.length;
-            byte[] newFileFirst100 = Arrays.copyOfRange(newFileContent, 0, Math.min(100, length));
-            byte[] newFileLast100 = Arrays.copyOfRange(newFileContent, Math.max(0, length - 100), length);
-
-            return allFiles.stream()
-                    .filter(existingFile -> existingFile.getTitle().equals(title))
-                    .anyMatch(existingFile -> {
-                        byte[] existingFileContent = existingFile.getData();
-                        int existingLength = existingFileContent.length;
-                        byte[] existingFileFirst100 = Arrays.copyOfRange(existingFileContent, 0,
-                                Math.min(100, existingLength));
-                        byte[] existingFileLast100 = Arrays.copyOfRange(existingFileContent,
-                                Math.max(0, existingLength - 100), existingLength);
-
-                        return Arrays.equals(newFileFirst100, existingFileFirst100)
-                                && Arrays.equals(newFileLast100, existingFileLast100);
-                    });
+            return fileRepo.saveAndFlush(fileEntity);
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Insert of \"{}\" violated a constraint: {}", fileEntity.getTitle(), e.getMessage());
+            checkNotAlreadyStored(file, fileEntity.getTitle(), fileEntity.getContentHash());
+            throw e;
+        }
+    }
+
+    /**
+     * Copies the uploaded file to a temporary file without buffering it in
+     * memory, computing its digest on the way.
+     *
+     * @param file The uploaded file.
+     * @return The spooled upload.
+     * @throws IOException If the upload cannot be read or written.
+     */
+    private SpooledUpload spoolToTempFile(MultipartFile file) throws IOException {
+        Path spooled = Files.createTempFile(TEMP_FILE_PREFIX, PDF_EXTENSION);
+        MessageDigest digest = HashUtil.newSha256Digest();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            long size = Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            return new SpooledUpload(spooled, size, HexFormat.of().formatHex(digest.digest()));
         } catch (IOException e) {
-            logger.error("Error reading file data for title: \"{}\", error: {}", title, e);
-            throw new FileDataReadingException(e.getMessage(), e.getCause());
+            deleteQuietly(spooled);
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes a temporary file, logging instead of failing if it cannot be
+     * removed.
+     *
+     * @param path The path to delete, may be null.
+     */
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete temporary file {}: {}", path, e.getMessage());
         }
     }
 
     @Override
+    @Transactional
     public void removeFile(String title) throws FileNotFoundException {
         logger.info("Attempting to remove file with title: {}", title);
 
         try {
             FileEntity file = getFile(title);
+            pageRepo.deleteByFileId(file.getId());
             fileRepo.deleteById(file.getId());
             logger.info("Successfully removed file with title: {}", title);
         } catch (FileNotFoundException e) {
@@ -132,10 +241,7 @@ public class PostgresRepo implements ISQLRepo {
         validateTitle(title);
         logger.info("Attempting to retrieve file with title: {}", title);
 
-        List<FileEntity> allFiles = fileRepo.findAll();
-        logEntityCount(allFiles, "files");
-
-        return findByTitle(allFiles, title, FileEntity::getTitle)
+        return fileRepo.findByTitle(title)
                 .orElseThrow(() -> {
                     logger.error(ERROR_FILE_NOT_FOUND, title);
                     return new FileNotFoundException(String.format(ERROR_FILE_NOT_FOUND, title));
@@ -151,13 +257,7 @@ public class PostgresRepo implements ISQLRepo {
         validateTitle(title);
         logger.info("Attempting to retrieve file with title: {}", title);
 
-        List<FileEntity> allFiles = fileRepo.findAll();
-
-        logger.debug("All files: {}", allFiles.stream().map(FileEntity::getTitle).toArray());
-        logger.info("Found files count: {}", allFiles.size());
-
-        Optional<FileEntity> file = allFiles.stream()
-                .filter(fileEntity -> fileEntity.getTitle().equals(title)).findFirst();
+        Optional<FileEntity> file = fileRepo.findByTitle(title);
 
         if (file.isPresent()) {
             logger.info("File found with title: {}", title);
@@ -168,21 +268,32 @@ public class PostgresRepo implements ISQLRepo {
         }
     }
 
+    @Override
+    @Transactional
+    public List<PDFText> getPages(String title) throws FileNotFoundException {
+        return loadPages(getText(title));
+    }
+
+    @Override
+    @Transactional
     public TextSearchResult getTexts(List<String> names) {
         List<FileEntity> texts = new ArrayList<>();
         List<String> notFound = new ArrayList<>();
         TextSearchResult res = new TextSearchResult();
 
+        Map<String, FileEntity> filesByTitle = fileRepo.findByTitleIn(names).stream()
+                .collect(Collectors.toMap(FileEntity::getTitle, Function.identity()));
+
         names.stream().forEach(name -> {
-            try {
-                texts.add(this.getText(name));
-            } catch (FileNotFoundException e) {
+            FileEntity file = filesByTitle.get(name);
+            if (file != null) {
+                texts.add(file);
+            } else {
                 notFound.add(name);
             }
         });
 
-        List<PDFText> nodes = texts.stream().map(text -> textProcessorService.createText(text)).flatMap(List::stream)
-                .toList();
+        List<PDFText> nodes = texts.stream().map(this::loadPages).flatMap(List::stream).toList();
 
         res.setFound(nodes);
         res.setNotFound(notFound);
@@ -191,58 +302,501 @@ public class PostgresRepo implements ISQLRepo {
     }
 
     @Override
-    public List<FileEntity> getTexts() throws Exception {
-        return fileRepo.findAll();
+    public List<String> getTitles() {
+        return fileRepo.findAllTitles();
+    }
+
+    @Override
+    public List<String> getChartLabels() {
+        return chartRepo.findAllLabels();
     }
 
     @Override
+    @Transactional
     public void saveChart(ChartData data) {
-        chartRepo.save(data);
+        ChartData chart = chartRepo.save(data);
+        if (data.getData() == null) {
+            return;
+        }
+
+        int position = 0;
+        for (Map.Entry<String, List<PageScore>> entry : data.getData().entrySet()) {
+            saveSeries(chart.getId(), entry.getKey(), position++, entry.getValue());
+        }
+        logger.info("Saved chart \"{}\" with {} series", chart.getLabel(), position);
     }
 
     @Override
+    @Transactional
     public void removeChart(String label) throws ChartNotFoundException {
-        ChartData chart = getChart(label);
+        ChartData chart = findChart(label);
+
+        List<Long> seriesIds = chartSeriesRepo.findByChartIdOrderByPosition(chart.getId()).stream()
+                .map(ChartSeries::getId)
+                .toList();
+        if (!seriesIds.isEmpty()) {
+            chartPointRepo.deleteBySeriesIdIn(seriesIds);
+            chartSeriesRepo.deleteByChartId(chart.getId());
+        }
         chartRepo.deleteById(chart.getId());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ChartData getChart(String label) throws ChartNotFoundException {
+        ChartData chart = findChart(label);
+
+        List<ChartSeries> seriesList = chartSeriesRepo.findByChartIdOrderByPosition(chart.getId());
+        if (seriesList.isEmpty()) {
+            chart.setData(fromLegacyData(chart.getLegacyData()));
+            return chart;
+        }
+
+        Map<Long, List<ChartPoint>> pointsBySeries = chartPointRepo
+                .findBySeriesIdInOrderBySeriesIdAscPositionAsc(seriesList.stream().map(ChartSeries::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(ChartPoint::getSeriesId));
+
+        Map<String, List<PageScore>> data = new LinkedHashMap<>();
+        for (ChartSeries series : seriesList) {
+            List<PageScore> scores = pointsBySeries.getOrDefault(series.getId(), List.of()).stream()
+                    .map(point -> new PageScore(point.getPageId(), point.getPageLabel(), point.getScore()))
+                    .toList();
+            data.put(series.getConcept(), scores);
+        }
+        chart.setData(data);
+        return chart;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PDFText getPage(Long id) throws PageNotFoundException {
+        Assert.notNull(id, ERROR_NULL_PAGE_ID);
+
+        return pageRepo.findById(id)
+                .map(PageEntity::toPDFText)
+                .orElseThrow(() -> {
+                    logger.error(ERROR_PAGE_NOT_FOUND, id);
+                    return new PageNotFoundException(String.format(ERROR_PAGE_NOT_FOUND, id));
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ChartSeries getChartSeries(String label, String concept) throws ChartNotFoundException {
+        Assert.hasText(concept, ERROR_EMPTY_CONCEPT);
+        ChartData chart = findChart(label);
+
+        Optional<ChartSeries> stored = chartSeriesRepo.findFirstByChartIdAndConcept(chart.getId(), concept);
+        if (stored.isPresent()) {
+            ChartSeries series = stored.get();
+            series.setPoints(chartPointRepo.findBySeriesIdOrderByPosition(series.getId()));
+            return series;
+        }
+
+        List<PageScore> legacyScores = fromLegacyData(chart.getLegacyData()).get(concept);
+        if (legacyScores == null) {
+            logger.error(ERROR_SERIES_NOT_FOUND, concept, label);
+            throw new ChartNotFoundException(String.format(ERROR_SERIES_NOT_FOUND, concept, label));
+        }
+
+        ChartSeries series = new ChartSeries();
+        series.setChartId(chart.getId());
+        series.setConcept(concept);
+        List<ChartPoint> points = new ArrayList<>(legacyScores.size());
+        for (int i = 0; i < legacyScores.size(); i++) {
+            points.add(toChartPoint(legacyScores.get(i), i));
+        }
+        series.setPoints(points);
+        return series;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> getChartConcepts(String label) throws ChartNotFoundException {
+        ChartData chart = findChart(label);
+
+        List<ChartSeries> seriesList = chartSeriesRepo.findByChartIdOrderByPosition(chart.getId());
+        if (seriesList.isEmpty()) {
+            return new ArrayList<>(fromLegacyData(chart.getLegacyData()).keySet());
+        }
+        return seriesList.stream().map(ChartSeries::getConcept).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PDFText> getChartPages(String label) throws ChartNotFoundException {
+        ChartData chart = findChart(label);
+
+        // Pages in the order they first appear in the chart
+        Set<Long> pageIds = new LinkedHashSet<>();
+        List<ChartSeries> seriesList = chartSeriesRepo.findByChartIdOrderByPosition(chart.getId());
+        if (seriesList.isEmpty()) {
+            fromLegacyData(chart.getLegacyData()).values().forEach(scores -> scores.stream()
+                    .map(PageScore::getPageId)
+                    .filter(Objects::nonNull)
+                    .forEach(pageIds::add));
+        } else {
+            Map<Long, List<ChartPoint>> pointsBySeries = chartPointRepo
+                    .findBySeriesIdInOrderBySeriesIdAscPositionAsc(
+                            seriesList.stream().map(ChartSeries::getId).toList())
+                    .stream()
+                    .collect(Collectors.groupingBy(ChartPoint::getSeriesId));
+            seriesList.forEach(series -> pointsBySeries.getOrDefault(series.getId(), List.of()).stream()
+                    .map(ChartPoint::getPageId)
+                    .filter(Objects::nonNull)
+                    .forEach(pageIds::add));
+        }
+
+        Map<Long, PageEntity> pages = pageRepo.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(PageEntity::getId, Function.identity()));
+        if (pages.size() < pageIds.size()) {
+            logger.warn("{} pages of chart \"{}\" no longer exist", pageIds.size() - pages.size(), label);
+        }
+        return pageIds.stream()
+                .map(pages::get)
+                .filter(Objects::nonNull)
+                .map(PageEntity::toPDFText)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void addChartSeries(String label, Map<String, List<PageScore>> series) throws ChartNotFoundException {
+        ChartData chart = findChart(label);
+        migrateLegacyChart(chart);
+
+        // A concept that is already charted is replaced rather than duplicated
+        deleteSeries(chartSeriesRepo.findByChartIdAndConceptIn(chart.getId(), series.keySet()));
+
+        int position = chartSeriesRepo.findFirstByChartIdOrderByPositionDesc(chart.getId())
+                .map(last -> last.getPosition() + 1)
+                .orElse(0);
+        for (Map.Entry<String, List<PageScore>> entry : series.entrySet()) {
+            saveSeries(chart.getId(), entry.getKey(), position++, entry.getValue());
+        }
+        logger.info("Added {} series to chart \"{}\"", series.size(), label);
+    }
+
+    @Override
+    @Transactional
+    public int removeChartSeries(String label, List<String> concepts) throws ChartNotFoundException {
+        ChartData chart = findChart(label);
+        migrateLegacyChart(chart);
+
+        List<ChartSeries> seriesList = chartSeriesRepo.findByChartIdAndConceptIn(chart.getId(), concepts);
+        deleteSeries(seriesList);
+        logger.info("Removed {} series from chart \"{}\"", seriesList.size(), label);
+        return seriesList.size();
+    }
+
+    @Override
+    @Transactional
+    public void addChartPoints(String label, Map<String, List<PageScore>> points) throws ChartNotFoundException {
+        ChartData chart = findChart(label);
+        migrateLegacyChart(chart);
+
+        Map<String, ChartSeries> seriesByConcept = chartSeriesRepo
+                .findByChartIdAndConceptIn(chart.getId(), points.keySet()).stream()
+                .collect(Collectors.toMap(ChartSeries::getConcept, Function.identity(), (first, second) -> first));
+
+        int added = 0;
+        for (Map.Entry<String, List<PageScore>> entry : points.entrySet()) {
+            ChartSeries series = seriesByConcept.get(entry.getKey());
+            if (series == null) {
+                logger.warn(ERROR_SERIES_NOT_FOUND, entry.getKey(), label);
+                continue;
+            }
+            int position = chartPointRepo.findFirstBySeriesIdOrderByPositionDesc(series.getId())
+                    .map(last -> last.getPosition() + 1)
+                    .orElse(0);
+            savePoints(series.getId(), entry.getValue(), position);
+            added += entry.getValue().size();
+        }
+        logger.info("Added {} points to chart \"{}\"", added, label);
+    }
+
+    @Override
+    @Transactional
+    public long removeChartPoints(String label, Collection<Long> pageIds) throws ChartNotFoundException {
+        ChartData chart = findChart(label);
+        migrateLegacyChart(chart);
+
+        List<Long> seriesIds = chartSeriesRepo.findByChartIdOrderByPosition(chart.getId()).stream()
+                .map(ChartSeries::getId)
+                .toList();
+        if (seriesIds.isEmpty() || pageIds.isEmpty()) {
+            return 0;
+        }
+        long removed = chartPointRepo.deleteBySeriesIdInAndPageIdIn(seriesIds, pageIds);
+        logger.info("Removed {} points from chart \"{}\"", removed, label);
+        return removed;
+    }
+
+    /**
+     * Finds the chart row by its label without assembling its series.
+     *
+     * @param label The chart label.
+     * @return The chart.
+     * @throws ChartNotFoundException If no chart has the label.
+     */
+    private ChartData findChart(String label) throws ChartNotFoundException {
         validateTitle(label);
         logger.info("Attempting to retrieve chart with label: {}", label);
 
-        List<ChartData> charts = chartRepo.findAll();
-        logEntityCount(charts, "charts");
-
-        return findByTitle(charts, label, ChartData::getLabel)
+        return chartRepo.findFirstByLabel(label)
                 .orElseThrow(() -> {
-                    List<String> labels = charts.stream().map(ChartData::getLabel).toList();
+                    List<String> labels = chartRepo.findAllLabels();
                     logger.error(ERROR_CHART_NOT_FOUND, label, labels);
                     return new ChartNotFoundException(String.format(ERROR_CHART_NOT_FOUND, label, labels));
                 });
     }
 
     /**
-     * Common validation logic for title parameter
+     * Saves a series and its points.
+     *
+     * @param chartId  The id of the chart.
+     * @param concept  The concept of the series.
+     * @param position The position of the series within the chart.
+     * @param scores   The scores of the series.
      */
-    private void validateTitle(String title) {
-        Assert.notNull(title, ERROR_NULL_TITLE);
-        Assert.hasText(title, ERROR_EMPTY_TITLE);
+    private void saveSeries(Long chartId, String concept, int position, List<PageScore> scores) {
+        ChartSeries series = new ChartSeries();
+        series.setChartId(chartId);
+        series.setConcept(concept);
+        series.setPosition(position);
+        series = chartSeriesRepo.save(series);
+        savePoints(series.getId(), scores, 0);
     }
 
     /**
-     * Common logic for finding an entity by title
+     * Saves scores as points of a series.
+     *
+     * @param seriesId      The id of the series.
+     * @param scores        The scores.
+     * @param firstPosition The position of the first point within the series.
      */
-    private <T> Optional<T> findByTitle(List<T> entities, String title, Function<T, String> titleExtractor) {
-        return entities.stream()
-                .filter(entity -> titleExtractor.apply(entity).equals(title))
-                .findFirst();
+    private void savePoints(Long seriesId, List<PageScore> scores, int firstPosition) {
+        List<ChartPoint> points = new ArrayList<>(scores.size());
+        for (int i = 0; i < scores.size(); i++) {
+            ChartPoint point = toChartPoint(scores.get(i), firstPosition + i);
+            point.setSeriesId(seriesId);
+            points.add(point);
+        }
+        chartPointRepo.saveAll(points);
+    }
+
+    /**
+     * Deletes series together with their points.
+     *
+     * @param seriesList The series to delete.
+     */
+    private void deleteSeries(List<ChartSeries> seriesList) {
+        if (seriesList.isEmpty()) {
+            return;
+        }
+        chartPointRepo.deleteBySeriesIdIn(seriesList.stream().map(ChartSeries::getId).toList());
+        chartSeriesRepo.deleteAll(seriesList);
+    }
+
+    /**
+     * Moves the whole-chart JSON of a chart saved before series were normalized
+     * into series rows, so the chart can be edited series by series.
+     *
+     * @param chart The chart.
+     */
+    private void migrateLegacyChart(ChartData chart) {
+        if (chart.getLegacyData() == null || chartSeriesRepo.existsByChartId(chart.getId())) {
+            return;
+        }
+        logger.info("Migrating legacy data of chart \"{}\" to series", chart.getLabel());
+        int position = 0;
+        for (Map.Entry<String, List<PageScore>> entry : fromLegacyData(chart.getLegacyData()).entrySet()) {
+            saveSeries(chart.getId(), entry.getKey(), position++, entry.getValue());
+        }
+        chart.setLegacyData(null);
+        chartRepo.save(chart);
+    }
+
+    /**
+     * Converts a score into a chart point referencing its page.
+     *
+     * @param score    The score.
+     * @param position The position of the point within its series.
+     * @return The chart point.
+     */
+    private ChartPoint toChartPoint(PageScore score, int position) {
+        ChartPoint point = new ChartPoint();
+        point.setPosition(position);
+        point.setPageId(score.getPageId());
+        point.setPageLabel(score.getLabel());
+        point.setScore(score.getScore());
+        return point;
+    }
+
+    /**
+     * Converts the whole-chart JSON of a chart saved before series were
+     * normalized into compact scores. Those charts recorded no page ids, so
+     * each score gets the id of the stored page with the same text, preferring
+     * a page of the same source. Scores whose page no longer exists keep a
+     * null id.
+     *
+     * @param legacyData The legacy chart data, may be null.
+     * @return The scores per concept, empty if there is no legacy data.
+     */
+    private Map<String, List<PageScore>> fromLegacyData(Map<String, List<SimilarityScore>> legacyData) {
+        Map<String, List<PageScore>> data = new LinkedHashMap<>();
+        if (legacyData == null) {
+            return data;
+        }
+
+        Set<String> hashes = legacyData.values().stream()
+                .flatMap(List::stream)
+                .map(score -> score.getText().getText())
+                .filter(Objects::nonNull)
+                .map(HashUtil::sha256Hex)
+                .collect(Collectors.toSet());
+        Map<String, List<PageEntity>> pagesByHash = hashes.isEmpty()
+                ? Map.of()
+                : pageRepo.findByContentHashIn(hashes).stream()
+                        .collect(Collectors.groupingBy(PageEntity::getContentHash));
+
+        legacyData.forEach((concept, scores) -> data.put(concept,
+                scores.stream().map(score -> toLegacyPageScore(score, pagesByHash)).toList()));
+        return data;
+    }
+
+    /**
+     * Converts a score of a legacy chart, resolving its page by content.
+     *
+     * @param score       The legacy score.
+     * @param pagesByHash The stored pages by content hash.
+     * @return The page score.
+     */
+    private PageScore toLegacyPageScore(SimilarityScore score, Map<String, List<PageEntity>> pagesByHash) {
+        PDFText text = score.getText();
+        Long pageId = text.getPageId();
+        if (pageId == null && text.getText() != null) {
+            List<PageEntity> candidates = pagesByHash.getOrDefault(HashUtil.sha256Hex(text.getText()), List.of());
+            pageId = candidates.stream()
+                    .filter(page -> Objects.equals(page.getSource(), text.getSource()))
+                    .findFirst()
+                    .or(() -> candidates.stream().findFirst())
+                    .map(PageEntity::getId)
+                    .orElse(null);
+        }
+        return new PageScore(pageId, text.getLabel(), score.getScore().floatValue());
+    }
+
+    /**
+     * Reads the pages of a file from the page table. Files stored before pages
+     * were persisted are extracted once and backfilled.
+     *
+     * @param file The file.
+     * @return The pages in page order.
+     */
+    private List<PDFText> loadPages(FileEntity file) {
+        if (!Boolean.TRUE.equals(file.getPagesExtracted())) {
+            logger.info("Pages of \"{}\" not extracted yet, extracting them now", file.getTitle());
+            return storePages(file, textProcessorService.createText(file));
+        }
+
+        List<PDFText> pages = pageRepo.findByFileIdOrderByPageNumber(file.getId()).stream()
+                .map(PageEntity::toPDFText)
+                .toList();
+        logger.debug("Loaded {} pages of \"{}\"", pages.size(), file.getTitle());
+        return pages;
+    }
+
+    /**
+     * Stores the extracted pages of a file in the page table.
+     *
+     * @param file  The saved file.
+     * @param texts The extracted pages.
+     * @return The stored pages, carrying their page ids.
+     */
+    private List<PDFText> storePages(FileEntity file, List<PDFText> texts) {
+        List<PageEntity> pages = texts.stream().map(text -> {
+            PageEntity page = new PageEntity();
+            page.setFileId(file.getId());
+            page.setPageNumber(text.getPage());
+            page.setSource(text.getSource());
+            page.setLabel(text.getLabel());
+            page.setText(text.getText());
+            page.setContentHash(HashUtil.sha256Hex(text.getText()));
+            return page;
+        }).toList();
+        List<PageEntity> saved = pageRepo.saveAll(pages);
+
+        file.setPagesExtracted(true);
+        fileRepo.markPagesExtracted(file.getId());
+        logger.info("Stored {} pages of \"{}\"", saved.size(), file.getTitle());
+        return saved.stream().map(PageEntity::toPDFText).toList();
+    }
+
+    /**
+     * Extracts the pages at upload time from the spooled upload, after the file
+     * row has been committed. The pages are stored in their own transaction. A
+     * file that cannot be parsed or whose pages cannot be stored is kept, and
+     * extraction is retried when its pages are first requested.
+     *
+     * @param file    The saved file.
+     * @param spooled The spooled upload.
+     */
+    private void extractPagesQuietly(FileEntity file, Path spooled) {
+        try {
+            List<PDFText> texts = textProcessorService.createText(spooled, file.getTitle());
+            transactionTemplate.executeWithoutResult(status -> storePages(file, texts));
+        } catch (RuntimeException e) {
+            logger.warn("Could not extract pages of \"{}\": {}", file.getTitle(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Computes the digest of files stored before digests were recorded,
+     * streaming each file from the database.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillContentHashes() {
+        List<FileEntity> files = fileRepo.findByContentHashIsNull();
+        if (files.isEmpty()) {
+            return;
+        }
+
+        logger.info("Computing content hashes of {} stored files", files.size());
+        Set<String> computed = new HashSet<>();
+        for (FileEntity file : files) {
+            MessageDigest digest = HashUtil.newSha256Digest();
+            try (InputStream in = new DigestInputStream(file.getData().getBinaryStream(), digest)) {
+                long size = in.transferTo(OutputStream.nullOutputStream());
+                String contentHash = HexFormat.of().formatHex(digest.digest());
+
+                // Books stored twice before the digest existed keep a null hash on the copy
+                if (!computed.add(contentHash) || fileRepo.findByContentHash(contentHash).isPresent()) {
+                    logger.warn("\"{}\" duplicates the content of another stored file", file.getTitle());
+                    continue;
+                }
+                file.setSize(size);
+                file.setContentHash(contentHash);
+                fileRepo.save(file);
+            } catch (IOException | SQLException e) {
+                logger.warn("Could not compute content hash of \"{}\": {}", file.getTitle(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Common validation logic for title parameter
+     */
+    private void validateTitle(String title) {
+        Assert.notNull(title, ERROR_NULL_TITLE);
+        Assert.hasText(title, ERROR_EMPTY_TITLE);
     }
 
     /**
-     * Helper method to log entity counts
+     * An upload copied to a temporary file.
      */
-    private <T> void logEntityCount(List<T> entities, String entityType) {
-        logger.info("Found {} count: {}", entityType, entities.size());
+    private record SpooledUpload(Path path, long size, String contentHash) {
     }
 }
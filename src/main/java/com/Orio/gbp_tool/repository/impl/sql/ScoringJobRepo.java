@@ -0,0 +1,19 @@
+package com.Orio.gbp_tool.repository.impl.sql;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.Orio.gbp_tool.model.JobStatus;
+import com.Orio.gbp_tool.model.ScoringJob;
+
+@Repository
+public interface ScoringJobRepo extends JpaRepository<ScoringJob, Long> {
+
+    Optional<ScoringJob> findByJobKey(String jobKey);
+
+    List<ScoringJob> findByStatusIn(Collection<JobStatus> statuses);
+}
@@ -1,5 +1,8 @@
 package com.Orio.gbp_tool.repository.impl.sql;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,4 +11,5 @@ import com.Orio.gbp_tool.model.SimilarityScore;
 @Repository
 public interface SimilarityScoreRepo extends JpaRepository<SimilarityScore, Long> {
 
+    List<SimilarityScore> findByCacheKeyIn(Collection<String> cacheKeys);
 }
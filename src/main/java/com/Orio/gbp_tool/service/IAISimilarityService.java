@@ -1,11 +1,25 @@
 package com.Orio.gbp_tool.service;
 
 import java.util.List;
+import java.util.Map;
 
 import com.Orio.gbp_tool.model.PDFText;
+import com.Orio.gbp_tool.model.ScoreProvenance;
+import com.Orio.gbp_tool.model.ScoringOptions;
+import com.Orio.gbp_tool.model.ScoringResult;
 import com.Orio.gbp_tool.model.SimilarityScore;
 
 public interface IAISimilarityService {
 
     List<SimilarityScore> calculateScores(List<PDFText> texts, String concept);
+
+    ScoringResult scoreTexts(List<PDFText> texts, String concept);
+
+    ScoringResult scoreTexts(List<PDFText> texts, String concept, ScoringOptions options);
+
+    Map<String, ScoringResult> scoreConcepts(List<PDFText> texts, List<String> concepts);
+
+    Map<String, ScoringResult> scoreConcepts(List<PDFText> texts, List<String> concepts, ScoringOptions options);
+
+    ScoreProvenance getProvenance();
 }
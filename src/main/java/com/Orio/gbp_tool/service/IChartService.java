@@ -2,10 +2,25 @@ package com.Orio.gbp_tool.service;
 
 import java.util.List;
 
+import com.Orio.gbp_tool.exception.ChartNotFoundException;
 import com.Orio.gbp_tool.exception.NoPdfFoundException;
 import com.Orio.gbp_tool.model.ChartDataResult;
+import com.Orio.gbp_tool.model.ScoringOptions;
 
 public interface IChartService {
 
     ChartDataResult createChart(List<String> concepts, List<String> pdfNames, String label) throws NoPdfFoundException;
+
+    ChartDataResult createChart(List<String> concepts, List<String> pdfNames, String label, ScoringOptions options)
+            throws NoPdfFoundException;
+
+    ChartDataResult addConcepts(String label, List<String> concepts, ScoringOptions options)
+            throws ChartNotFoundException, NoPdfFoundException;
+
+    int removeConcepts(String label, List<String> concepts) throws ChartNotFoundException;
+
+    ChartDataResult addPdfs(String label, List<String> pdfNames, ScoringOptions options)
+            throws ChartNotFoundException, NoPdfFoundException;
+
+    long removePdfs(String label, List<String> pdfNames) throws ChartNotFoundException;
 }
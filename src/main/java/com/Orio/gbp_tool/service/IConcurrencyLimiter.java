@@ -0,0 +1,12 @@
+package com.Orio.gbp_tool.service;
+
+import java.util.function.Supplier;
+
+import com.Orio.gbp_tool.model.LimiterStats;
+
+public interface IConcurrencyLimiter {
+
+    <T> T execute(Supplier<T> request);
+
+    LimiterStats getStats();
+}
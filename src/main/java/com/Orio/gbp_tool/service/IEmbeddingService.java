@@ -0,0 +1,15 @@
+package com.Orio.gbp_tool.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.Orio.gbp_tool.model.PDFText;
+
+public interface IEmbeddingService {
+
+    float[] embed(String text);
+
+    List<float[]> getPageEmbeddings(List<PDFText> texts);
+
+    CompletableFuture<List<float[]>> getPageEmbeddingsAsync(List<PDFText> texts);
+}
@@ -0,0 +1,10 @@
+package com.Orio.gbp_tool.service;
+
+import java.util.List;
+
+import com.Orio.gbp_tool.model.GraphPoolStats;
+
+public interface IGraphMetricsService {
+
+    List<GraphPoolStats> getPoolStats();
+}
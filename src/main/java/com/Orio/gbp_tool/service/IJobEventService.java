@@ -0,0 +1,15 @@
+package com.Orio.gbp_tool.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.Orio.gbp_tool.model.ScoringJob;
+import com.Orio.gbp_tool.model.SimilarityScore;
+
+public interface IJobEventService {
+
+    SseEmitter subscribe(ScoringJob job);
+
+    void publishScore(ScoringJob job, SimilarityScore score);
+
+    void publishStatus(ScoringJob job);
+}
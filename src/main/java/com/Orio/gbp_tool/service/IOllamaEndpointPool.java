@@ -0,0 +1,17 @@
+package com.Orio.gbp_tool.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.ai.ollama.api.OllamaApi;
+
+import com.Orio.gbp_tool.model.OllamaEndpointStats;
+
+public interface IOllamaEndpointPool {
+
+    <T> T execute(String model, Function<OllamaApi, T> call);
+
+    void checkHealth();
+
+    List<OllamaEndpointStats> getStats();
+}
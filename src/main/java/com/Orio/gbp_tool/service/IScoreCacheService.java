@@ -0,0 +1,22 @@
+package com.Orio.gbp_tool.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.Orio.gbp_tool.model.ScoreCacheStats;
+import com.Orio.gbp_tool.model.SimilarityScore;
+
+public interface IScoreCacheService {
+
+    String createKey(String text, String concept, String promptVersion);
+
+    Map<String, Double> getAll(Collection<String> keys);
+
+    void put(String key, SimilarityScore score);
+
+    void putAll(Map<String, SimilarityScore> scores);
+
+    void flush();
+
+    ScoreCacheStats getStats();
+}
@@ -0,0 +1,24 @@
+package com.Orio.gbp_tool.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.Orio.gbp_tool.model.ScoringJob;
+import com.Orio.gbp_tool.model.ScoringMode;
+
+public interface IScoringJobService {
+
+    ScoringJob submitConceptJob(String concept, List<String> textNames, ScoringMode mode, boolean includeAnalysis);
+
+    ScoringJob submitChartJob(List<String> concepts, List<String> pdfNames, String label, ScoringMode mode);
+
+    ScoringJob submitChartConceptsJob(String label, List<String> concepts, ScoringMode mode);
+
+    ScoringJob submitChartPdfsJob(String label, List<String> pdfNames, ScoringMode mode);
+
+    Optional<ScoringJob> getJob(Long id);
+
+    void resumeInterruptedJobs();
+
+    void checkpointRunningJobs();
+}
@@ -0,0 +1,23 @@
+package com.Orio.gbp_tool.service;
+
+import com.Orio.gbp_tool.model.ScoringFailure;
+import com.Orio.gbp_tool.model.SimilarityScore;
+
+/**
+ * Receives scoring progress while scores are being computed. Callbacks may be
+ * invoked concurrently from scoring worker threads.
+ */
+public interface IScoringListener {
+
+    IScoringListener NO_OP = new IScoringListener() {
+    };
+
+    default void onTasksPlanned(int count) {
+    }
+
+    default void onScore(SimilarityScore score) {
+    }
+
+    default void onFailure(ScoringFailure failure) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.Orio.gbp_tool.service;
 
+import java.nio.file.Path;
 import java.util.List;
 
 import com.Orio.gbp_tool.model.FileEntity;
@@ -8,4 +9,8 @@ import com.Orio.gbp_tool.model.PDFText;
 public interface ITextProcessorService {
 
     List<PDFText> createText(FileEntity file);
+
+    List<PDFText> createText(FileEntity file, int workers);
+
+    List<PDFText> createText(Path pdf, String title);
 }
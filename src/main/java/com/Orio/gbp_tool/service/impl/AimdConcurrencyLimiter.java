@@ -0,0 +1,323 @@
+package com.Orio.gbp_tool.service.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.Orio.gbp_tool.config.properties.ScoringProperties;
+import com.Orio.gbp_tool.exception.BackendUnavailableException;
+import com.Orio.gbp_tool.model.LimiterStats;
+import com.Orio.gbp_tool.service.IConcurrencyLimiter;
+
+/**
+ * Limits concurrent model requests with an additive increase, multiplicative
+ * decrease limit. The limit grows while latency stays close to the lowest
+ * latency seen and shrinks when requests become slow or fail. The endpoint
+ * pool routes around failing endpoints, so only requests that found no
+ * available endpoint count towards the circuit breaker. After repeated ones it
+ * rejects requests without reaching the pool until a single trial request gets
+ * through again.
+ */
+@Service
+public class AimdConcurrencyLimiter implements IConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AimdConcurrencyLimiter.class);
+
+    // Constants for exception messages
+    private static final String CIRCUIT_OPEN_MSG_TEMPLATE = "Model backend is unavailable, next attempt in %d ms";
+    private static final String TRIAL_IN_FLIGHT_MSG = "Model backend is unavailable, waiting for the trial request";
+    private static final String NOT_CLOSED_MSG = "Model backend became unavailable while waiting for a free slot";
+    private static final String INTERRUPTED_MSG = "Interrupted while waiting for a free model slot";
+
+    // Weight of a new sample when the baseline latency drifts towards slower samples
+    private static final double BASELINE_DRIFT = 0.01;
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private enum CircuitState {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        // The request reached an endpoint and failed there
+        FAILURE,
+        // No endpoint was available for the request
+        UNAVAILABLE
+    }
+
+    private final ScoringProperties.Limiter properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+
+    // All state below is guarded by the lock
+    private final long[] latencies;
+    private int sampleCount;
+    private int nextSample;
+    private double limit;
+    private int inFlight;
+    private double baselineNanos;
+    private long lastDecreaseAt;
+    private CircuitState state = CircuitState.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+    private int consecutiveFailures;
+    private long requests;
+    private long failures;
+    private long rejected;
+
+    public AimdConcurrencyLimiter(ScoringProperties scoringProperties) {
+        this.properties = scoringProperties.getLimiter();
+        this.latencies = new long[Math.max(1, properties.getSampleWindow())];
+        this.limit = clamp(scoringProperties.getMaxInFlight());
+        logger.info("Concurrency limiter initialized with limit {} in range [{}, {}]", (int) limit,
+                properties.getMinLimit(), properties.getMaxLimit());
+    }
+
+    @Override
+    public <T> T execute(Supplier<T> request) {
+        acquire();
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.FAILURE;
+        try {
+            T result = request.get();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } catch (BackendUnavailableException e) {
+            outcome = Outcome.UNAVAILABLE;
+            throw e;
+        } finally {
+            release(System.nanoTime() - start, outcome);
+        }
+    }
+
+    @Override
+    public LimiterStats getStats() {
+        lock.lock();
+        try {
+            long[] samples = Arrays.copyOf(latencies, sampleCount);
+            Arrays.sort(samples);
+            return new LimiterStats((int) limit, inFlight, state.name(), requests, failures, rejected,
+                    baselineNanos / NANOS_PER_MILLI, percentile(samples, 0.50), percentile(samples, 0.95),
+                    percentile(samples, 0.99));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Private Helper Methods
+
+    /**
+     * Waits until the number of requests in flight is below the limit and
+     * takes a slot. The trial request of a half-open circuit takes a slot
+     * right away, since waiting for one could hold the circuit half-open while
+     * every other request is rejected.
+     *
+     * @throws BackendUnavailableException If the circuit is not closed.
+     */
+    private void acquire() {
+        lock.lock();
+        try {
+            boolean trial = admitThroughCircuit();
+            while (!trial && inFlight >= (int) limit) {
+                slotFreed.await();
+                if (state != CircuitState.CLOSED) {
+                    rejected++;
+                    throw new BackendUnavailableException(NOT_CLOSED_MSG);
+                }
+            }
+            inFlight++;
+            requests++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(INTERRUPTED_MSG, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rejects the request while the circuit is open. Once the open period has
+     * passed, a single trial request is let through.
+     *
+     * @return Whether the request is the trial request of a half-open circuit.
+     * @throws BackendUnavailableException If the request may not be sent.
+     */
+    private boolean admitThroughCircuit() {
+        if (state == CircuitState.OPEN) {
+            if (remainingOpenMillis() > 0) {
+                rejected++;
+                throw new BackendUnavailableException(String.format(CIRCUIT_OPEN_MSG_TEMPLATE,
+                        remainingOpenMillis()));
+            }
+            logger.info("Circuit half-open, sending a trial request to the model backend");
+            state = CircuitState.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            if (trialInFlight) {
+                rejected++;
+                throw new BackendUnavailableException(TRIAL_IN_FLIGHT_MSG);
+            }
+            trialInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Frees the slot of a finished request and adjusts the limit from its
+     * outcome. Requests that found no endpoint fail at once, so only the
+     * latency of requests that reached an endpoint is sampled.
+     *
+     * @param latencyNanos The latency of the request.
+     * @param outcome      The outcome of the request.
+     */
+    private void release(long latencyNanos, Outcome outcome) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (outcome != Outcome.UNAVAILABLE) {
+                recordLatency(latencyNanos);
+            }
+            if (outcome == Outcome.SUCCESS) {
+                onSuccess(latencyNanos);
+            } else {
+                onFailure(outcome == Outcome.UNAVAILABLE);
+            }
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes a half-open circuit and grows the limit unless the request was
+     * slow compared to the baseline latency.
+     *
+     * @param latencyNanos The latency of the request.
+     */
+    private void onSuccess(long latencyNanos) {
+        onAvailable();
+
+        if (baselineNanos == 0 || latencyNanos < baselineNanos) {
+            baselineNanos = latencyNanos;
+        } else {
+            baselineNanos += (latencyNanos - baselineNanos) * BASELINE_DRIFT;
+        }
+
+        if (latencyNanos > baselineNanos * properties.getLatencyTolerance()) {
+            decrease();
+        } else if (inFlight + 1 >= limit / 2) {
+            // Only grow while the current limit is actually used
+            limit = clamp(limit + 1 / limit);
+        }
+    }
+
+    /**
+     * Closes a half-open circuit once a request reached an endpoint, whether
+     * or not the endpoint then answered successfully.
+     */
+    private void onAvailable() {
+        consecutiveFailures = 0;
+        if (state == CircuitState.HALF_OPEN) {
+            logger.info("Trial request reached the model backend, closing the circuit");
+            state = CircuitState.CLOSED;
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * Shrinks the limit. A request that found no available endpoint also
+     * counts towards the circuit, which opens after too many of them in a row
+     * or when the trial request of a half-open circuit finds none.
+     *
+     * @param unavailable Whether no endpoint was available for the request.
+     */
+    private void onFailure(boolean unavailable) {
+        failures++;
+        decrease();
+        if (!unavailable) {
+            onAvailable();
+            return;
+        }
+
+        consecutiveFailures++;
+        if (state == CircuitState.HALF_OPEN
+                || (state == CircuitState.CLOSED && consecutiveFailures >= properties.getFailureThreshold())) {
+            logger.warn("Opening the circuit for {} ms after {} consecutive requests without an available endpoint",
+                    properties.getOpenDurationMs(), consecutiveFailures);
+            state = CircuitState.OPEN;
+            openedAt = System.nanoTime();
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * Multiplies the limit by the backoff ratio, at most once per baseline
+     * latency so that one burst of slow responses counts as one congestion
+     * signal.
+     */
+    private void decrease() {
+        long now = System.nanoTime();
+        if (lastDecreaseAt != 0 && now - lastDecreaseAt < baselineNanos) {
+            return;
+        }
+        lastDecreaseAt = now;
+        double previous = limit;
+        limit = clamp(limit * properties.getBackoffRatio());
+        logger.debug("Decreased concurrency limit from {} to {}", previous, limit);
+    }
+
+    /**
+     * Stores a latency sample, overwriting the oldest one once the window is
+     * full.
+     *
+     * @param latencyNanos The latency of the request.
+     */
+    private void recordLatency(long latencyNanos) {
+        latencies[nextSample] = latencyNanos;
+        nextSample = (nextSample + 1) % latencies.length;
+        sampleCount = Math.min(sampleCount + 1, latencies.length);
+    }
+
+    /**
+     * Returns the time left until an open circuit lets a trial request through.
+     *
+     * @return The remaining milliseconds, zero or less once the period passed.
+     */
+    private long remainingOpenMillis() {
+        return properties.getOpenDurationMs() - (System.nanoTime() - openedAt) / 1_000_000;
+    }
+
+    /**
+     * Keeps the limit within the configured bounds.
+     *
+     * @param value The proposed limit.
+     * @return The bounded limit.
+     */
+    private double clamp(double value) {
+        return Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), value));
+    }
+
+    /**
+     * Reads a percentile from sorted latency samples.
+     *
+     * @param sorted     The sorted samples in nanoseconds.
+     * @param percentile The percentile as a fraction.
+     * @return The percentile in milliseconds, zero without samples.
+     */
+    private double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / NANOS_PER_MILLI;
+    }
+}
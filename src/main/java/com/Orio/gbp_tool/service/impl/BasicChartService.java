@@ -1,22 +1,41 @@
 package com.Orio.gbp_tool.service.impl;
 
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import com.Orio.gbp_tool.config.properties.ScoringProperties;
+import com.Orio.gbp_tool.exception.ChartNotFoundException;
 import com.Orio.gbp_tool.exception.NoPdfFoundException;
 import com.Orio.gbp_tool.model.ChartData;
 import com.Orio.gbp_tool.model.ChartDataResult;
+import com.Orio.gbp_tool.model.JobScore;
 import com.Orio.gbp_tool.model.PDFText;
+import com.Orio.gbp_tool.model.PageScore;
+import com.Orio.gbp_tool.model.ScoringOptions;
 import com.Orio.gbp_tool.model.SimilarityScore;
 import com.Orio.gbp_tool.model.TextSearchResult;
+import com.Orio.gbp_tool.repository.IGraphDatabaseRepo;
 import com.Orio.gbp_tool.repository.ISQLRepo;
 import com.Orio.gbp_tool.service.IAISimilarityService;
 import com.Orio.gbp_tool.service.IChartService;
+import com.Orio.gbp_tool.service.IScoringListener;
+import com.Orio.gbp_tool.util.HashUtil;
 
 import lombok.RequiredArgsConstructor;
 
@@ -28,6 +47,8 @@ public class BasicChartService implements IChartService {
 
     private final IAISimilarityService aISimilarityService;
     private final ISQLRepo sqlRepo;
+    private final IGraphDatabaseRepo graphRepo;
+    private final ScoringProperties scoringProperties;
 
     // Constants for validation messages
     private static final String CONCEPTS_NOT_NULL_MSG = "Concepts list must not be null";
@@ -38,22 +59,29 @@ public class BasicChartService implements IChartService {
 
     // Constants for exception messages
     private static final String NO_PDFS_FOUND_MSG_TEMPLATE = "No pdfs were found out of the provided %s";
+    private static final String NO_CHART_PAGES_MSG_TEMPLATE = "Chart \"%s\" has no pages to score";
 
     @Override
     public ChartDataResult createChart(List<String> concepts, List<String> pdfNames, String label)
             throws NoPdfFoundException {
+        return createChart(concepts, pdfNames, label, ScoringOptions.defaults());
+    }
+
+    @Override
+    public ChartDataResult createChart(List<String> concepts, List<String> pdfNames, String label,
+            ScoringOptions options) throws NoPdfFoundException {
         validateInputs(concepts, pdfNames, label);
 
-        logger.info("Creating chart with label: {}", label);
+        logger.info("Creating chart with label: {} using scoring mode: {}", label, options.getMode());
         logger.debug("Fetching texts for PDF names: {}", pdfNames);
 
         TextSearchResult texts = sqlRepo.getTexts(pdfNames);
         List<PDFText> found = texts.getFound();
         List<String> notFound = texts.getNotFound();
 
-        handleNoPdfsFound(found, pdfNames);
+        handleNoPdfsFound(found, notFound, pdfNames);
 
-        ChartData chartData = buildChartData(concepts, found);
+        ChartData chartData = buildChartData(concepts, found, options);
         chartData.setLabel(label);
 
         ChartDataResult result = buildChartDataResult(chartData, notFound);
@@ -64,6 +92,86 @@ public class BasicChartService implements IChartService {
         return result;
     }
 
+    @Override
+    public ChartDataResult addConcepts(String label, List<String> concepts, ScoringOptions options)
+            throws ChartNotFoundException, NoPdfFoundException {
+        validatePatchInputs(label, concepts, CONCEPTS_NOT_EMPTY_MSG);
+
+        List<String> charted = sqlRepo.getChartConcepts(label);
+        List<String> added = concepts.stream().distinct().filter(concept -> !charted.contains(concept)).toList();
+        ChartData delta = createChartData(label);
+        if (added.isEmpty()) {
+            logger.info("All concepts are already in chart {}", label);
+            return buildChartDataResult(delta, List.of());
+        }
+
+        List<PDFText> pages = sqlRepo.getChartPages(label);
+        if (pages.isEmpty()) {
+            logger.warn("Chart {} has no pages to score concepts against", label);
+            throw new NoPdfFoundException(String.format(NO_CHART_PAGES_MSG_TEMPLATE, label));
+        }
+
+        logger.info("Adding {} concepts to chart {} over {} pages", added.size(), label, pages.size());
+        delta.setData(scoreMatrix(added, pages, options));
+        sqlRepo.addChartSeries(label, delta.getData());
+        return buildChartDataResult(delta, List.of());
+    }
+
+    @Override
+    public int removeConcepts(String label, List<String> concepts) throws ChartNotFoundException {
+        validatePatchInputs(label, concepts, CONCEPTS_NOT_EMPTY_MSG);
+
+        logger.info("Removing concepts {} from chart {}", concepts, label);
+        return sqlRepo.removeChartSeries(label, concepts);
+    }
+
+    @Override
+    public ChartDataResult addPdfs(String label, List<String> pdfNames, ScoringOptions options)
+            throws ChartNotFoundException, NoPdfFoundException {
+        validatePatchInputs(label, pdfNames, PDF_NAMES_NOT_EMPTY_MSG);
+
+        List<String> concepts = sqlRepo.getChartConcepts(label);
+        TextSearchResult texts = sqlRepo.getTexts(pdfNames);
+        handleNoPdfsFound(texts.getFound(), texts.getNotFound(), pdfNames);
+
+        // Pages that are already charted keep their scores
+        Set<Long> charted = sqlRepo.getChartPages(label).stream()
+                .map(PDFText::getPageId)
+                .collect(Collectors.toSet());
+        List<PDFText> pages = texts.getFound().stream()
+                .filter(page -> !charted.contains(page.getPageId()))
+                .toList();
+
+        ChartData delta = createChartData(label);
+        if (concepts.isEmpty() || pages.isEmpty()) {
+            logger.info("Nothing to add to chart {}. Concepts: {}, new pages: {}", label, concepts.size(),
+                    pages.size());
+            return buildChartDataResult(delta, texts.getNotFound());
+        }
+
+        logger.info("Adding {} pages to chart {} for {} concepts", pages.size(), label, concepts.size());
+        delta.setData(scoreMatrix(concepts, pages, options));
+        sqlRepo.addChartPoints(label, delta.getData());
+        return buildChartDataResult(delta, texts.getNotFound());
+    }
+
+    @Override
+    public long removePdfs(String label, List<String> pdfNames) throws ChartNotFoundException {
+        validatePatchInputs(label, pdfNames, PDF_NAMES_NOT_EMPTY_MSG);
+
+        List<Long> pageIds = new ArrayList<>();
+        for (String pdfName : pdfNames) {
+            try {
+                sqlRepo.getPages(pdfName).forEach(page -> pageIds.add(page.getPageId()));
+            } catch (FileNotFoundException e) {
+                logger.warn("PDF {} not found, nothing to remove from chart {}", pdfName, label);
+            }
+        }
+
+        logger.info("Removing {} pages of {} from chart {}", pageIds.size(), pdfNames, label);
+        return sqlRepo.removeChartPoints(label, pageIds);
+    }
+
     /**
      * Validates the input parameters for creating a chart.
      *
@@ -79,20 +187,34 @@ public class BasicChartService implements IChartService {
         Assert.hasText(label, LABEL_NOT_EMPTY_MSG);
     }
 
+    /**
+     * Validates the input parameters for changing an existing chart.
+     *
+     * @param label   Label of the chart.
+     * @param items   The concepts or PDF names to add or remove.
+     * @param message The message used when the items are empty.
+     */
+    private void validatePatchInputs(String label, List<String> items, String message) {
+        Assert.hasText(label, LABEL_NOT_EMPTY_MSG);
+        Assert.notEmpty(items, message);
+    }
+
     /**
      * Handles the scenario where no PDFs are found based on the provided PDF names.
      *
      * @param found    List of found PDF texts.
+     * @param notFound List of PDF names that were not found.
      * @param pdfNames List of PDF names requested.
      * @throws NoPdfFoundException If no PDFs are found.
      */
-    private void handleNoPdfsFound(List<PDFText> found, List<String> pdfNames) throws NoPdfFoundException {
+    private void handleNoPdfsFound(List<PDFText> found, List<String> notFound, List<String> pdfNames)
+            throws NoPdfFoundException {
         if (found.isEmpty()) {
             logger.warn("No PDFs found for the provided names: {}", pdfNames);
             throw new NoPdfFoundException(String.format(NO_PDFS_FOUND_MSG_TEMPLATE, pdfNames));
         }
         logger.debug("Found PDFs: {}", found);
-        logger.debug("Not found PDFs: {}", sqlRepo.getTexts(pdfNames).getNotFound());
+        logger.debug("Not found PDFs: {}", notFound);
     }
 
     /**
@@ -101,20 +223,123 @@ public class BasicChartService implements IChartService {
      *
      * @param concepts List of concepts.
      * @param found    List of found PDF texts.
+     * @param options  The scoring options.
      * @return A populated ChartData object.
      */
-    private ChartData buildChartData(List<String> concepts, List<PDFText> found) {
+    private ChartData buildChartData(List<String> concepts, List<PDFText> found, ScoringOptions options) {
         ChartData chartData = new ChartData();
-        chartData.setData(new HashMap<>());
+        chartData.setData(scoreMatrix(concepts, found, options));
+        return chartData;
+    }
 
-        for (String concept : concepts) {
-            logger.debug("Calculating scores for concept: {}", concept);
-            List<SimilarityScore> calculatedScores = aISimilarityService.calculateScores(found, concept);
-            logger.debug("Scores for concept {}: {}", concept, calculatedScores);
-            chartData.getData().put(concept, calculatedScores);
+    /**
+     * Creates an empty chart holding the series added by a change.
+     *
+     * @param label Label of the chart.
+     * @return The empty chart.
+     */
+    private ChartData createChartData(String label) {
+        ChartData chartData = new ChartData();
+        chartData.setLabel(label);
+        chartData.setData(new LinkedHashMap<>());
+        return chartData;
+    }
+
+    /**
+     * Scores every concept against every page. Scores already stored in the
+     * graph are reused, so only the missing concept and page cells are sent to
+     * the model. Computed scores are kept by the score cache only, so building
+     * a chart adds no concepts to the graph. The stored cells are passed as completed, so every missing
+     * cell of the matrix is scored in a single call, however the missing pages
+     * differ between concepts.
+     *
+     * @param concepts List of concepts.
+     * @param found    List of found PDF texts.
+     * @param options  The scoring options.
+     * @return The scores per concept, in page order.
+     */
+    private Map<String, List<PageScore>> scoreMatrix(List<String> concepts, List<PDFText> found,
+            ScoringOptions options) {
+        List<String> distinctConcepts = new ArrayList<>(new LinkedHashSet<>(concepts));
+        List<String> hashes = found.stream().map(text -> HashUtil.sha256Hex(text.getText())).toList();
+        Map<String, Map<String, Double>> stored = findStoredScores(distinctConcepts, hashes);
+        IScoringListener listener = options.getListener();
+
+        Map<String, SimilarityScore[]> cells = new LinkedHashMap<>();
+        Map<String, Double> completed = new HashMap<>(options.getCompletedScores());
+        List<String> missingConcepts = new ArrayList<>();
+        List<SimilarityScore> reused = new ArrayList<>();
+        int storedCount = 0;
+        for (String concept : distinctConcepts) {
+            SimilarityScore[] row = new SimilarityScore[found.size()];
+            Map<String, Double> conceptScores = stored.getOrDefault(concept, Map.of());
+            for (int page = 0; page < found.size(); page++) {
+                Double score = conceptScores.get(hashes.get(page));
+                if (score != null) {
+                    row[page] = new SimilarityScore(found.get(page), concept, score);
+                    completed.put(JobScore.createKey(found.get(page).getText(), concept), score);
+                    storedCount++;
+                }
+            }
+            cells.put(concept, row);
+            if (Arrays.stream(row).anyMatch(Objects::isNull)) {
+                missingConcepts.add(concept);
+            } else {
+                reused.addAll(Arrays.asList(row));
+            }
         }
 
-        return chartData;
+        // The stored cells of the concepts that are scored are reported by the similarity service
+        listener.onTasksPlanned(reused.size());
+        reused.forEach(listener::onScore);
+        logger.info("Reusing {} stored scores, {} concepts need scoring", storedCount, missingConcepts.size());
+
+        if (!missingConcepts.isEmpty()) {
+            Map<PDFText, Integer> pageIndex = new IdentityHashMap<>();
+            for (int page = 0; page < found.size(); page++) {
+                pageIndex.put(found.get(page), page);
+            }
+
+            ScoringOptions scoringOptions = options.toBuilder().completedScores(completed).build();
+            aISimilarityService.scoreConcepts(found, missingConcepts, scoringOptions).forEach((concept, result) -> {
+                logger.debug("Scores for concept {}: {}", concept, result.getScores());
+                SimilarityScore[] row = cells.get(concept);
+                for (SimilarityScore score : result.getScores()) {
+                    Integer page = pageIndex.get(score.getText());
+                    // Stored cells keep their score, a pre-filter may return an approximate one for them
+                    if (page != null && row[page] == null) {
+                        row[page] = score;
+                    }
+                }
+            });
+        }
+
+        Map<String, List<PageScore>> data = new LinkedHashMap<>();
+        cells.forEach((concept, row) -> data.put(concept,
+                Arrays.stream(row).filter(Objects::nonNull).map(PageScore::from).toList()));
+
+        return data;
+    }
+
+    /**
+     * Looks up the scores of the concepts that are already stored in the graph.
+     * Only full scores of the current model and prompts are reused. A failed
+     * lookup is logged and treated as if nothing was stored.
+     *
+     * @param concepts The concepts of the chart.
+     * @param hashes   The content hashes of the pages.
+     * @return The stored scores keyed by concept and content hash.
+     */
+    private Map<String, Map<String, Double>> findStoredScores(List<String> concepts, List<String> hashes) {
+        if (!scoringProperties.getChart().isReuseGraphScores()) {
+            return Map.of();
+        }
+        try {
+            return graphRepo.getScores(concepts, new HashSet<>(hashes), aISimilarityService.getProvenance());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to read stored scores, scoring every cell: {}", e.getMessage());
+            return Map.of();
+        }
     }
 
     /**
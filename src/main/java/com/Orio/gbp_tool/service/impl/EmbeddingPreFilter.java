@@ -0,0 +1,130 @@
+package com.Orio.gbp_tool.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.Orio.gbp_tool.config.properties.ScoringProperties;
+import com.Orio.gbp_tool.model.PDFText;
+import com.Orio.gbp_tool.model.PreFilterResult;
+import com.Orio.gbp_tool.model.SimilarityScore;
+import com.Orio.gbp_tool.service.IEmbeddingService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Ranks pages by embedding similarity to a concept so that only the most
+ * promising pages are scored by the chat model.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmbeddingPreFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddingPreFilter.class);
+
+    private final IEmbeddingService embeddingService;
+    private final ScoringProperties scoringProperties;
+
+    /**
+     * Splits the texts into chat model candidates and pages that get a score
+     * derived from their embedding similarity.
+     *
+     * @param texts   List of PDFText objects.
+     * @param concept The concept string.
+     * @return The candidates and the embedding derived scores of the remaining
+     *         pages.
+     */
+    public PreFilterResult partition(List<PDFText> texts, String concept) {
+        ScoringProperties.Prefilter settings = scoringProperties.getPrefilter();
+        logger.info("Pre-filtering {} pages for concept: {} (top-k: {}, threshold: {})", texts.size(), concept,
+                settings.getTopK(), settings.getThreshold());
+
+        float[] conceptVector = embeddingService.embed(concept);
+        List<float[]> pageVectors = embeddingService.getPageEmbeddings(texts);
+
+        double[] similarities = new double[texts.size()];
+        for (int i = 0; i < texts.size(); i++) {
+            similarities[i] = cosineSimilarity(conceptVector, pageVectors.get(i));
+        }
+
+        boolean[] selected = new boolean[texts.size()];
+        IntStream.range(0, texts.size())
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> similarities[i]).reversed())
+                .limit(Math.max(0, settings.getTopK()))
+                .forEach(i -> selected[i] = true);
+
+        List<PDFText> candidates = new ArrayList<>();
+        List<Integer> filtered = new ArrayList<>();
+        double lowestCandidate = Double.MAX_VALUE;
+        double highestFiltered = 0;
+        for (int i = 0; i < texts.size(); i++) {
+            if (selected[i] || similarities[i] >= settings.getThreshold()) {
+                candidates.add(texts.get(i));
+                lowestCandidate = Math.min(lowestCandidate, similarities[i]);
+            } else {
+                filtered.add(i);
+                highestFiltered = Math.max(highestFiltered, similarities[i]);
+            }
+        }
+
+        // Every filtered page is at most as similar as the least similar candidate
+        double scale = candidates.isEmpty() ? highestFiltered : lowestCandidate;
+        List<SimilarityScore> embeddingScores = new ArrayList<>();
+        for (int i : filtered) {
+            SimilarityScore score = new SimilarityScore(texts.get(i), concept,
+                    toScore(similarities[i], scale, settings.getFallbackCeiling()));
+            score.setApproximate(true);
+            embeddingScores.add(score);
+        }
+
+        logger.info("Pre-filter selected {} of {} pages for the chat model", candidates.size(), texts.size());
+        return new PreFilterResult(candidates, embeddingScores);
+    }
+
+    /**
+     * Computes the cosine similarity of two vectors.
+     *
+     * @param a The first vector.
+     * @param b The second vector.
+     * @return The cosine similarity, or 0 if either vector has no magnitude.
+     */
+    private double cosineSimilarity(float[] a, float[] b) {
+        int length = Math.min(a.length, b.length);
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        if (normA == 0 || normB == 0) {
+            return 0;
+        }
+        return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+
+    /**
+     * Maps the cosine similarity of a filtered page onto the range from 0 to
+     * the ceiling. Raw cosines of unrelated pages are often as high as the chat
+     * model scores of related ones, so they are scaled relative to the least
+     * similar candidate instead of being used directly.
+     *
+     * @param similarity The cosine similarity.
+     * @param scale      The similarity that maps to the ceiling.
+     * @param ceiling    The highest derived score.
+     * @return The derived score.
+     */
+    private double toScore(double similarity, double scale, double ceiling) {
+        if (scale <= 0) {
+            return 0.0;
+        }
+        return Math.min(ceiling, Math.max(0.0, similarity) / scale * ceiling);
+    }
+}
@@ -0,0 +1,249 @@
+package com.Orio.gbp_tool.service.impl;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.ollama.api.OllamaApi;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.Orio.gbp_tool.config.properties.OllamaPoolProperties;
+import com.Orio.gbp_tool.exception.BackendUnavailableException;
+import com.Orio.gbp_tool.model.OllamaEndpointStats;
+import com.Orio.gbp_tool.service.IOllamaEndpointPool;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Balances Ollama requests over several instances, sending each request to
+ * the healthy instance with the fewest requests outstanding that has the
+ * model. Instances are taken out of rotation after repeated failures and put
+ * back once a health check succeeds.
+ */
+@Service
+public class LeastOutstandingOllamaPool implements IOllamaEndpointPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeastOutstandingOllamaPool.class);
+
+    // Constants for validation messages
+    private static final String BASE_URLS_NOT_EMPTY_MSG = "At least one Ollama base URL must be configured";
+    private static final String MODEL_NOT_EMPTY_MSG = "Model must not be null or empty";
+
+    // Constants for exception messages
+    private static final String NO_ENDPOINT_MSG_TEMPLATE = "No healthy Ollama endpoint serves model %s";
+
+    private static final String TAGS_PATH = "/api/tags";
+    private static final String LATEST_TAG = ":latest";
+
+    private final OllamaPoolProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final List<Endpoint> endpoints;
+    // Rotates the starting endpoint so that ties are spread over the pool
+    private final AtomicInteger nextStart = new AtomicInteger();
+
+    public LeastOutstandingOllamaPool(OllamaPoolProperties properties, ObjectMapper objectMapper) {
+        Assert.notEmpty(properties.getBaseUrls(), BASE_URLS_NOT_EMPTY_MSG);
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(properties.getHealthCheckTimeoutMs()))
+                .build();
+        this.endpoints = properties.getBaseUrls().stream()
+                .map(baseUrl -> new Endpoint(stripTrailingSlash(baseUrl)))
+                .toList();
+        logger.info("Ollama endpoint pool initialized with {}", properties.getBaseUrls());
+    }
+
+    @Override
+    public <T> T execute(String model, Function<OllamaApi, T> call) {
+        Assert.hasText(model, MODEL_NOT_EMPTY_MSG);
+
+        Endpoint endpoint = acquire(model);
+        try {
+            T result = call.apply(endpoint.api);
+            endpoint.consecutiveFailures.set(0);
+            return result;
+        } catch (RuntimeException e) {
+            onFailure(endpoint, e);
+            throw e;
+        } finally {
+            endpoint.outstanding.decrementAndGet();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${ollama.pool.health-check-interval-ms:10000}")
+    public void checkHealth() {
+        endpoints.forEach(this::checkHealth);
+    }
+
+    @Override
+    public List<OllamaEndpointStats> getStats() {
+        return endpoints.stream()
+                .map(endpoint -> new OllamaEndpointStats(endpoint.baseUrl, endpoint.healthy,
+                        endpoint.outstanding.get(), endpoint.requests.get(), endpoint.failures.get(),
+                        endpoint.models == null ? List.of() : List.copyOf(endpoint.models)))
+                .toList();
+    }
+
+    // Private Helper Methods
+
+    /**
+     * Picks the healthy endpoint serving the model with the fewest outstanding
+     * requests and counts the new request against it.
+     *
+     * @param model The model the request needs.
+     * @return The chosen endpoint.
+     * @throws BackendUnavailableException If no healthy endpoint serves the model.
+     */
+    private synchronized Endpoint acquire(String model) {
+        int start = Math.floorMod(nextStart.getAndIncrement(), endpoints.size());
+        Endpoint chosen = null;
+        for (int i = 0; i < endpoints.size(); i++) {
+            Endpoint endpoint = endpoints.get((start + i) % endpoints.size());
+            if (!endpoint.healthy || !endpoint.serves(model)) {
+                continue;
+            }
+            if (chosen == null || endpoint.outstanding.get() < chosen.outstanding.get()) {
+                chosen = endpoint;
+            }
+        }
+        if (chosen == null) {
+            throw new BackendUnavailableException(String.format(NO_ENDPOINT_MSG_TEMPLATE, model));
+        }
+        chosen.outstanding.incrementAndGet();
+        chosen.requests.incrementAndGet();
+        return chosen;
+    }
+
+    /**
+     * Records a failed request and takes the endpoint out of rotation once it
+     * failed too many times in a row.
+     *
+     * @param endpoint The endpoint the request was sent to.
+     * @param error    The failure.
+     */
+    private void onFailure(Endpoint endpoint, RuntimeException error) {
+        endpoint.failures.incrementAndGet();
+        int failures = endpoint.consecutiveFailures.incrementAndGet();
+        if (endpoint.healthy && failures >= properties.getFailureThreshold()) {
+            endpoint.healthy = false;
+            logger.warn("Removing Ollama endpoint {} from rotation after {} consecutive failures: {}",
+                    endpoint.baseUrl, failures, error.getMessage());
+        }
+    }
+
+    /**
+     * Lists the models of an endpoint, which also shows whether it is up.
+     *
+     * @param endpoint The endpoint to check.
+     */
+    private void checkHealth(Endpoint endpoint) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(endpoint.baseUrl + TAGS_PATH))
+                .timeout(Duration.ofMillis(properties.getHealthCheckTimeoutMs()))
+                .GET()
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                markUnhealthy(endpoint, "status " + response.statusCode());
+                return;
+            }
+            endpoint.models = parseModels(response.body());
+            endpoint.consecutiveFailures.set(0);
+            if (!endpoint.healthy) {
+                logger.info("Ollama endpoint {} is healthy again with models {}", endpoint.baseUrl, endpoint.models);
+            }
+            endpoint.healthy = true;
+        } catch (IOException e) {
+            markUnhealthy(endpoint, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Takes an endpoint that failed its health check out of rotation.
+     *
+     * @param endpoint The endpoint.
+     * @param reason   Why the check failed.
+     */
+    private void markUnhealthy(Endpoint endpoint, String reason) {
+        if (endpoint.healthy) {
+            logger.warn("Ollama endpoint {} failed its health check: {}", endpoint.baseUrl, reason);
+        }
+        endpoint.healthy = false;
+    }
+
+    /**
+     * Reads the model names from a tags response.
+     *
+     * @param body The response body.
+     * @return The names of the models.
+     * @throws IOException If the body is not valid JSON.
+     */
+    private Set<String> parseModels(String body) throws IOException {
+        List<String> names = new ArrayList<>();
+        for (JsonNode model : objectMapper.readTree(body).path("models")) {
+            names.add(model.path("name").asText());
+        }
+        return names.stream().filter(name -> !name.isEmpty()).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Removes a trailing slash so paths can be appended to the base URL.
+     *
+     * @param baseUrl The configured base URL.
+     * @return The base URL without a trailing slash.
+     */
+    private static String stripTrailingSlash(String baseUrl) {
+        return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    /**
+     * An Ollama instance and its request counters.
+     */
+    private static class Endpoint {
+        private final String baseUrl;
+        private final OllamaApi api;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private volatile boolean healthy = true;
+        // Unknown until the first health check, in which case every model is assumed
+        private volatile Set<String> models;
+
+        Endpoint(String baseUrl) {
+            this.baseUrl = baseUrl;
+            this.api = new OllamaApi(baseUrl);
+        }
+
+        /**
+         * Checks whether the endpoint has the model, treating a model without a
+         * tag as its latest tag.
+         *
+         * @param model The model name.
+         * @return Whether the endpoint serves the model.
+         */
+        boolean serves(String model) {
+            Set<String> known = models;
+            return known == null || known.contains(model) || known.contains(model + LATEST_TAG);
+        }
+    }
+}
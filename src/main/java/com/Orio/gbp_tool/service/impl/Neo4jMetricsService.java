@@ -0,0 +1,74 @@
+package com.Orio.gbp_tool.service.impl;
+
+import java.util.List;
+
+import org.neo4j.driver.ConnectionPoolMetrics;
+import org.neo4j.driver.Driver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.Orio.gbp_tool.config.properties.Neo4jProperties;
+import com.Orio.gbp_tool.model.GraphPoolStats;
+import com.Orio.gbp_tool.service.IGraphMetricsService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reports the state of the Neo4j driver's connection pools. A high acquiring
+ * count or acquisition time means requests wait for a connection rather than
+ * for the database itself.
+ */
+@Service
+@RequiredArgsConstructor
+public class Neo4jMetricsService implements IGraphMetricsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(Neo4jMetricsService.class);
+    private final Driver driver;
+    private final Neo4jProperties neo4jProperties;
+
+    @Override
+    public List<GraphPoolStats> getPoolStats() {
+        if (!driver.isMetricsEnabled()) {
+            logger.debug("Driver metrics are disabled, no pool statistics available");
+            return List.of();
+        }
+
+        return driver.metrics().connectionPoolMetrics().stream()
+                .map(this::toStats)
+                .toList();
+    }
+
+    // Private Helper Methods
+
+    /**
+     * Converts the metrics of one connection pool into pool statistics.
+     *
+     * @param metrics The metrics of the pool.
+     * @return The pool statistics.
+     */
+    private GraphPoolStats toStats(ConnectionPoolMetrics metrics) {
+        return new GraphPoolStats(
+                metrics.id(),
+                neo4jProperties.getPool().getMaxSize(),
+                metrics.inUse(),
+                metrics.idle(),
+                metrics.creating(),
+                metrics.acquiring(),
+                metrics.acquired(),
+                metrics.timedOutToAcquire(),
+                average(metrics.totalAcquisitionTime(), metrics.acquired()),
+                average(metrics.totalInUseTime(), metrics.totalInUseCount()));
+    }
+
+    /**
+     * Divides a total time by a count, treating an empty count as zero.
+     *
+     * @param totalMs The total time in milliseconds.
+     * @param count   The number of measurements.
+     * @return The average time in milliseconds.
+     */
+    private double average(long totalMs, long count) {
+        return count == 0 ? 0 : (double) totalMs / count;
+    }
+}
@@ -0,0 +1,181 @@
+package com.Orio.gbp_tool.service.impl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.ollama.api.OllamaApi.EmbeddingRequest;
+import org.springframework.ai.ollama.api.OllamaApi.EmbeddingResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.Orio.gbp_tool.config.OllamaConfig;
+import com.Orio.gbp_tool.model.PDFText;
+import com.Orio.gbp_tool.model.PageEmbedding;
+import com.Orio.gbp_tool.repository.impl.sql.PageEmbeddingRepo;
+import com.Orio.gbp_tool.service.IEmbeddingService;
+import com.Orio.gbp_tool.service.IOllamaEndpointPool;
+import com.Orio.gbp_tool.util.HashUtil;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class OllamaEmbeddingService implements IEmbeddingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OllamaEmbeddingService.class);
+
+    // Constants
+    private static final String KEY_SEPARATOR = "\u0000";
+    private static final String TEXT_NOT_NULL_MSG = "Text to embed must not be null";
+    private static final String TEXTS_NOT_NULL_MSG = "The 'texts' list must not be null.";
+    private static final String EMPTY_EMBEDDING_MSG_TEMPLATE = "Model %s returned an empty embedding";
+
+    private final IOllamaEndpointPool endpointPool;
+    private final OllamaConfig config;
+    private final PageEmbeddingRepo pageEmbeddingRepo;
+    @Qualifier("scoringExecutor")
+    private final ExecutorService scoringExecutor;
+
+    @Override
+    public float[] embed(String text) {
+        Assert.notNull(text, TEXT_NOT_NULL_MSG);
+
+        String model = config.getEmbeddingModel();
+        EmbeddingResponse response = endpointPool.execute(model,
+                api -> api.embeddings(new EmbeddingRequest(model, text)));
+        List<Double> embedding = response.embedding();
+        if (embedding == null || embedding.isEmpty()) {
+            throw new IllegalStateException(String.format(EMPTY_EMBEDDING_MSG_TEMPLATE, config.getEmbeddingModel()));
+        }
+
+        float[] vector = new float[embedding.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = embedding.get(i).floatValue();
+        }
+        return vector;
+    }
+
+    @Override
+    public List<float[]> getPageEmbeddings(List<PDFText> texts) {
+        Assert.notNull(texts, TEXTS_NOT_NULL_MSG);
+        logger.info("Resolving embeddings for {} pages", texts.size());
+
+        List<String> keys = texts.stream().map(text -> createKey(text.getText())).toList();
+        Map<String, float[]> vectors = new HashMap<>();
+        pageEmbeddingRepo.findByEmbeddingKeyIn(keys)
+                .forEach(stored -> vectors.put(stored.getEmbeddingKey(), decode(stored.getVector())));
+        logger.debug("Found {} stored page embeddings", vectors.size());
+
+        List<PageEmbedding> created = new ArrayList<>();
+        List<float[]> result = new ArrayList<>();
+        for (int i = 0; i < texts.size(); i++) {
+            String key = keys.get(i);
+            float[] vector = vectors.get(key);
+            if (vector == null) {
+                vector = embed(texts.get(i).getText());
+                vectors.put(key, vector);
+                created.add(createEntity(key, vector));
+            }
+            result.add(vector);
+        }
+
+        saveQuietly(created);
+        logger.info("Resolved embeddings for {} pages, {} newly computed", texts.size(), created.size());
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<List<float[]>> getPageEmbeddingsAsync(List<PDFText> texts) {
+        Assert.notNull(texts, TEXTS_NOT_NULL_MSG);
+        return CompletableFuture.supplyAsync(() -> getPageEmbeddings(texts), scoringExecutor);
+    }
+
+    /**
+     * Creates the storage key of a page embedding from its content and the
+     * embedding model.
+     *
+     * @param text The page text.
+     * @return The embedding key.
+     */
+    private String createKey(String text) {
+        return HashUtil.sha256Hex(HashUtil.sha256Hex(text) + KEY_SEPARATOR + config.getEmbeddingModel());
+    }
+
+    /**
+     * Creates a PageEmbedding entity.
+     *
+     * @param key    The embedding key.
+     * @param vector The embedding vector.
+     * @return A new PageEmbedding entity.
+     */
+    private PageEmbedding createEntity(String key, float[] vector) {
+        PageEmbedding entity = new PageEmbedding();
+        entity.setEmbeddingKey(key);
+        entity.setModel(config.getEmbeddingModel());
+        entity.setVector(encode(vector));
+        return entity;
+    }
+
+    /**
+     * Persists newly computed embeddings, tolerating ones stored concurrently.
+     * The batch is saved in one transaction, so if any row conflicts the rows
+     * are saved one by one and only the conflicting ones are skipped.
+     *
+     * @param created The embeddings to persist.
+     */
+    private void saveQuietly(List<PageEmbedding> created) {
+        if (created.isEmpty()) {
+            return;
+        }
+        try {
+            pageEmbeddingRepo.saveAll(created);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Batch save of page embeddings failed, saving them one by one: {}", e.getMessage());
+            int skipped = 0;
+            for (PageEmbedding embedding : created) {
+                // The rolled back batch may have assigned ids that do not exist
+                embedding.setId(null);
+                try {
+                    pageEmbeddingRepo.save(embedding);
+                } catch (DataIntegrityViolationException duplicate) {
+                    skipped++;
+                }
+            }
+            logger.warn("{} of {} page embeddings were already stored by a concurrent run", skipped,
+                    created.size());
+        }
+    }
+
+    /**
+     * Encodes a vector into bytes for storage.
+     *
+     * @param vector The vector.
+     * @return The encoded bytes.
+     */
+    private byte[] encode(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a stored vector.
+     *
+     * @param data The encoded bytes.
+     * @return The vector.
+     */
+    private float[] decode(byte[] data) {
+        float[] vector = new float[data.length / Float.BYTES];
+        ByteBuffer.wrap(data).asFloatBuffer().get(vector);
+        return vector;
+    }
+}
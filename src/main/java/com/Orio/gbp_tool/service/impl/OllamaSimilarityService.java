@@ -2,23 +2,46 @@ package com.Orio.gbp_tool.service.impl;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.ai.ollama.api.OllamaApi;
 import org.springframework.ai.ollama.api.OllamaApi.ChatRequest;
 import org.springframework.ai.ollama.api.OllamaApi.ChatResponse;
 import org.springframework.ai.ollama.api.OllamaApi.Message;
 import org.springframework.ai.ollama.api.OllamaApi.Message.Role;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import com.Orio.gbp_tool.config.OllamaConfig;
+import com.Orio.gbp_tool.config.properties.ScoringProperties;
+import com.Orio.gbp_tool.model.JobScore;
 import com.Orio.gbp_tool.model.OllamaResponse;
 import com.Orio.gbp_tool.model.PDFText;
+import com.Orio.gbp_tool.model.PreFilterResult;
+import com.Orio.gbp_tool.model.ScoreProvenance;
+import com.Orio.gbp_tool.model.ScoringFailure;
+import com.Orio.gbp_tool.model.ScoringMode;
+import com.Orio.gbp_tool.model.ScoringOptions;
+import com.Orio.gbp_tool.model.ScoringResult;
 import com.Orio.gbp_tool.model.SimilarityScore;
 import com.Orio.gbp_tool.service.IAISimilarityService;
+import com.Orio.gbp_tool.service.IConcurrencyLimiter;
+import com.Orio.gbp_tool.service.IOllamaEndpointPool;
+import com.Orio.gbp_tool.service.IScoreCacheService;
+import com.Orio.gbp_tool.service.IScoringListener;
+import com.Orio.gbp_tool.util.ScoreUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -33,48 +56,559 @@ public class OllamaSimilarityService implements IAISimilarityService {
     // Constants for message content
     private static final String FORMAT_JSON = "json";
     private static final String SYSTEM_ACT_AS_CONTENT = "Act as a similarity score calculator based on meaning. Return the score as double in range 0-100. The score an indicator of how much the meaning of text matches the concept provided";
+    private static final String SYSTEM_SCORE_ONLY_FORMAT_CONTENT = "Respond only in the following json format: {\"score\": <Similarity Score in range (0.0-100.0)>}";
     private static final String SYSTEM_RESPONSE_FORMAT_CONTENT = "Respond in the following json format: {\"analysis\": \"Brief 3 sentence analysis of the meaning of the text\", \"score\": \"Similarity Score in range (0.0-100.0)\"}";
     private static final String TEXT_CONCEPT_TEMPLATE = "TEXT:\"\"\"%s\"\"\"\n\nConcept: \"%s\"";
+    private static final String BATCH_SYSTEM_ACT_AS_CONTENT = "Act as a similarity score calculator based on meaning. For every concept provided return a score as double in range 0-100. Each score is an indicator of how much the meaning of text matches that concept";
+    private static final String BATCH_SYSTEM_RESPONSE_FORMAT_CONTENT = "Respond in the following json format: {\"scores\": {\"<concept exactly as provided>\": <Similarity Score in range (0.0-100.0)>}}. Include every concept provided";
+    private static final String TEXT_CONCEPTS_TEMPLATE = "TEXT:\"\"\"%s\"\"\"\n\nConcepts: %s";
+    // Bump whenever the prompts above change so cached scores from the old prompts are not reused
+    private static final String PROMPT_TEMPLATE_VERSION = "similarity-v1";
+    private static final String SCORE_ONLY_PROMPT_TEMPLATE_VERSION = "similarity-score-v1";
+    private static final String BATCH_PROMPT_TEMPLATE_VERSION = "similarity-batch-v1";
+
+    // Rough prompt size estimation used to keep batched prompts within the model context
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int RESPONSE_TOKENS_PER_CONCEPT = 16;
+
+    // Constants for model options
+    private static final String NUM_PREDICT_OPTION = "num_predict";
+    private static final String STOP_OPTION = "stop";
+    // Tokens for the braces and the scores key of a batched response
+    private static final int BATCH_RESPONSE_OVERHEAD_TOKENS = 8;
 
     // Constants for exception messages
     private static final String JSON_PARSING_ERROR_MSG = "Error occurred while parsing json: {}, Response: {}";
+    private static final String UNPARSEABLE_RESPONSE_MSG_TEMPLATE = "Model response could not be parsed: %s";
+    private static final String MISSING_CONCEPT_MSG = "Concept missing from model response";
+    private static final String CONCEPT_SERIALIZATION_MSG = "Concepts could not be serialized";
 
-    private final OllamaApi ollama;
+    private final IOllamaEndpointPool endpointPool;
     private final OllamaConfig config;
     private final ObjectMapper objMapper;
+    private final ScoringProperties scoringProperties;
+    @Qualifier("scoringExecutor")
+    private final ExecutorService scoringExecutor;
+    private final IScoreCacheService scoreCache;
+    private final EmbeddingPreFilter preFilter;
+    private final IConcurrencyLimiter limiter;
+
+    @Override
+    public List<SimilarityScore> calculateScores(List<PDFText> texts, String concept) {
+        ScoringResult result = scoreTexts(texts, concept);
+
+        if (!result.getFailures().isEmpty()) {
+            logger.warn("{} of {} texts could not be scored for concept: {}. Failures: {}",
+                    result.getFailures().size(), texts.size(), concept, result.getFailures());
+        }
+        return result.getScores();
+    }
+
+    @Override
+    public ScoringResult scoreTexts(List<PDFText> texts, String concept) {
+        return scoreTexts(texts, concept, ScoringOptions.defaults());
+    }
 
     @Override
-    public List<SimilarityScore> calculateScores(List<PDFText> texts, String concept) { // TODO add periodic saves
-        logger.info("Starting calculateScores method.");
+    public ScoringResult scoreTexts(List<PDFText> texts, String concept, ScoringOptions options) {
+        logger.info("Starting scoreTexts method with mode: {}", options.getMode());
         validateInputs(texts, concept);
 
         logger.debug("Input texts: {}, concept: {}", texts, concept);
 
-        List<SimilarityScore> scores = new ArrayList<>();
+        IScoringListener listener = options.getListener();
+        listener.onTasksPlanned(texts.size());
 
-        for (PDFText text : texts) {
-            logger.debug("Processing text: {}", text.getText());
-            ChatRequest request = buildChatRequest(text.getText(), concept);
-            logger.debug("Sending chat request: {}", request);
-            ChatResponse response = ollama.chat(request);
+        ScoringResult result = options.getMode() == ScoringMode.EMBEDDING_PREFILTER
+                ? scoreWithPreFilter(texts, concept, options)
+                : scoreWithModel(texts, concept, options);
 
-            String content = response.message().content();
-            logger.debug("Received response content: {}", content);
+        logger.info("Finished scoreTexts method. Scored: {}, failed: {}", result.getScores().size(),
+                result.getFailures().size());
+        logger.debug("Scores: {}", result.getScores());
+        return result;
+    }
 
-            OllamaResponse json = parseJson(content);
+    @Override
+    public Map<String, ScoringResult> scoreConcepts(List<PDFText> texts, List<String> concepts) {
+        return scoreConcepts(texts, concepts, ScoringOptions.defaults());
+    }
+
+    @Override
+    public Map<String, ScoringResult> scoreConcepts(List<PDFText> texts, List<String> concepts,
+            ScoringOptions options) {
+        logger.info("Starting scoreConcepts method with mode: {}", options.getMode());
+        validateInputs(texts, concepts);
+
+        List<String> distinctConcepts = new ArrayList<>(new LinkedHashSet<>(concepts));
+        Map<String, ScoringResult> results = new LinkedHashMap<>();
+
+        // Pre-filtering selects different pages per concept and batched responses carry no
+        // analysis, so neither can share requests
+        if (!scoringProperties.getBatch().isEnabled() || options.getMode() == ScoringMode.EMBEDDING_PREFILTER
+                || options.isIncludeAnalysis()) {
+            return scoreConceptsIndependently(texts, distinctConcepts, options);
+        }
+
+        IScoringListener listener = options.getListener();
+        int pageCount = texts.size();
+        int conceptCount = distinctConcepts.size();
+        listener.onTasksPlanned(pageCount * conceptCount);
+
+        String[][] keys = new String[pageCount][conceptCount];
+        List<String> allKeys = new ArrayList<>();
+        for (int page = 0; page < pageCount; page++) {
+            for (int c = 0; c < conceptCount; c++) {
+                keys[page][c] = scoreCache.createKey(texts.get(page).getText(), distinctConcepts.get(c),
+                        BATCH_PROMPT_TEMPLATE_VERSION);
+                allKeys.add(keys[page][c]);
+            }
+        }
+        Map<String, Double> cached = scoreCache.getAll(allKeys);
+        logger.debug("Found {} of {} scores in the score cache", cached.size(), allKeys.size());
+
+        Map<String, Integer> conceptIndex = new HashMap<>();
+        for (int c = 0; c < conceptCount; c++) {
+            conceptIndex.put(distinctConcepts.get(c), c);
+        }
+
+        Double[][] scores = new Double[pageCount][conceptCount];
+        String[][] failures = new String[pageCount][conceptCount];
+
+        // One request per page and concept chunk, only for cells that are not cached
+        List<Integer> requestPages = new ArrayList<>();
+        List<List<String>> requestConcepts = new ArrayList<>();
+        List<CompletableFuture<Map<String, Double>>> futures = new ArrayList<>();
+        for (int page = 0; page < pageCount; page++) {
+            PDFText text = texts.get(page);
+            String[] pageKeys = keys[page];
+            List<String> missing = new ArrayList<>();
+            for (int c = 0; c < conceptCount; c++) {
+                Double knownScore = findCompleted(options, text, distinctConcepts.get(c));
+                if (knownScore == null) {
+                    knownScore = cached.get(pageKeys[c]);
+                }
+                if (knownScore != null) {
+                    scores[page][c] = knownScore;
+                    listener.onScore(new SimilarityScore(text, distinctConcepts.get(c), knownScore));
+                } else {
+                    missing.add(distinctConcepts.get(c));
+                }
+            }
+            for (List<String> chunk : splitConcepts(text.getText(), missing)) {
+                requestPages.add(page);
+                requestConcepts.add(chunk);
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    Map<String, Double> pageScores = scorePageConcepts(text, chunk);
+                    for (String concept : chunk) {
+                        Double score = pageScores.get(normalizeConcept(concept));
+                        if (score != null) {
+                            SimilarityScore similarityScore = new SimilarityScore(text, concept, score);
+                            scoreCache.put(pageKeys[conceptIndex.get(concept)], similarityScore);
+                            listener.onScore(similarityScore);
+                        }
+                    }
+                    return pageScores;
+                }, scoringExecutor));
+            }
+        }
+        logger.info("Scoring {} pages against {} concepts with {} requests", pageCount, conceptCount,
+                futures.size());
+
+        for (int r = 0; r < futures.size(); r++) {
+            int page = requestPages.get(r);
+            try {
+                Map<String, Double> pageScores = futures.get(r).join();
+                for (String concept : requestConcepts.get(r)) {
+                    int c = conceptIndex.get(concept);
+                    Double score = pageScores.get(normalizeConcept(concept));
+                    if (score != null) {
+                        scores[page][c] = score;
+                    } else {
+                        failures[page][c] = MISSING_CONCEPT_MSG;
+                    }
+                }
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                logger.warn("Failed to score text {}: {}", texts.get(page).getLabel(), cause.getMessage());
+                for (String concept : requestConcepts.get(r)) {
+                    failures[page][conceptIndex.get(concept)] = cause.getMessage();
+                }
+            }
+        }
+
+        scoreCache.flush();
+
+        for (int c = 0; c < conceptCount; c++) {
+            String concept = distinctConcepts.get(c);
+            ScoringResult result = new ScoringResult();
+            for (int page = 0; page < pageCount; page++) {
+                if (scores[page][c] != null) {
+                    result.getScores().add(withProvenance(
+                            new SimilarityScore(texts.get(page), concept, scores[page][c]),
+                            BATCH_PROMPT_TEMPLATE_VERSION));
+                } else {
+                    ScoringFailure failure = new ScoringFailure(texts.get(page), concept, failures[page][c]);
+                    result.getFailures().add(failure);
+                    listener.onFailure(failure);
+                }
+            }
+            results.put(concept, result);
+        }
+
+        logger.info("Finished scoreConcepts method. Requests sent: {}, cached cells: {}", futures.size(),
+                cached.size());
+        return results;
+    }
+
+    @Override
+    public ScoreProvenance getProvenance() {
+        return new ScoreProvenance(config.getModel(), Set.of(PROMPT_TEMPLATE_VERSION,
+                SCORE_ONLY_PROMPT_TEMPLATE_VERSION, BATCH_PROMPT_TEMPLATE_VERSION));
+    }
+
+    /**
+     * Scores every concept against the texts with one request per cell. All
+     * cells of all concepts are submitted before any result is awaited, so the
+     * whole matrix shares the scoring executor instead of concepts being scored
+     * one after another.
+     *
+     * @param texts    List of PDFText objects.
+     * @param concepts The distinct concepts.
+     * @param options  The scoring options.
+     * @return The results keyed by concept, in the order of the concepts.
+     */
+    private Map<String, ScoringResult> scoreConceptsIndependently(List<PDFText> texts, List<String> concepts,
+            ScoringOptions options) {
+        IScoringListener listener = options.getListener();
+        boolean preFiltering = options.getMode() == ScoringMode.EMBEDDING_PREFILTER;
+        listener.onTasksPlanned(texts.size() * concepts.size());
+
+        Map<String, PendingScores> pending = new LinkedHashMap<>();
+        int submitted = 0;
+        for (String concept : concepts) {
+            PreFilterResult preFiltered = null;
+            List<PDFText> candidates = texts;
+            if (preFiltering) {
+                preFiltered = preFilter.partition(texts, concept);
+                preFiltered.getEmbeddingScores().forEach(listener::onScore);
+                candidates = preFiltered.getCandidates();
+            }
+            List<CompletableFuture<SimilarityScore>> futures = submitModelScores(candidates, concept, options);
+            pending.put(concept, new PendingScores(preFiltered, candidates, futures));
+            submitted += futures.size();
+        }
+        logger.info("Scoring {} pages against {} concepts as {} independent tasks", texts.size(), concepts.size(),
+                submitted);
+
+        Map<String, ScoringResult> results = new LinkedHashMap<>();
+        pending.forEach((concept, scores) -> {
+            ScoringResult modelResult = collectModelScores(scores.candidates(), concept, scores.futures(), listener);
+            results.put(concept, scores.preFiltered() == null
+                    ? modelResult
+                    : mergePreFiltered(texts, scores.preFiltered(), modelResult));
+        });
+        return results;
+    }
+
+    /**
+     * Scores the texts with the embedding pre-filter in front of the chat model.
+     *
+     * @param texts   List of PDFText objects.
+     * @param concept The concept string.
+     * @param options The scoring options.
+     * @return The scores in the order of the input texts.
+     */
+    private ScoringResult scoreWithPreFilter(List<PDFText> texts, String concept, ScoringOptions options) {
+        PreFilterResult preFiltered = preFilter.partition(texts, concept);
+        preFiltered.getEmbeddingScores().forEach(options.getListener()::onScore);
+
+        ScoringResult modelResult = preFiltered.getCandidates().isEmpty()
+                ? new ScoringResult()
+                : scoreWithModel(preFiltered.getCandidates(), concept, options);
+        return mergePreFiltered(texts, preFiltered, modelResult);
+    }
+
+    /**
+     * Merges the embedding scores of a pre-filtered run with the model scores
+     * of its candidates.
+     *
+     * @param texts       The texts that were pre-filtered.
+     * @param preFiltered The pre-filter result.
+     * @param modelResult The model scores of the candidates.
+     * @return The scores in the order of the input texts.
+     */
+    private ScoringResult mergePreFiltered(List<PDFText> texts, PreFilterResult preFiltered,
+            ScoringResult modelResult) {
+        // Merge both score sources back into the order of the input texts
+        Map<PDFText, SimilarityScore> byText = new IdentityHashMap<>();
+        preFiltered.getEmbeddingScores().forEach(score -> byText.put(score.getText(), score));
+        modelResult.getScores().forEach(score -> byText.put(score.getText(), score));
+
+        ScoringResult result = new ScoringResult();
+        result.setFailures(modelResult.getFailures());
+        texts.stream().map(byText::get).filter(score -> score != null).forEach(result.getScores()::add);
+        return result;
+    }
+
+    /**
+     * Scores every text with the chat model, skipping texts whose score is
+     * already cached. Computed scores are written to the cache as they complete.
+     *
+     * @param texts   List of PDFText objects.
+     * @param concept The concept string.
+     * @param options The scoring options.
+     * @return The scores in the order of the input texts.
+     */
+    private ScoringResult scoreWithModel(List<PDFText> texts, String concept, ScoringOptions options) {
+        return collectModelScores(texts, concept, submitModelScores(texts, concept, options),
+                options.getListener());
+    }
+
+    /**
+     * Submits a model request for every text whose score is neither completed
+     * by an earlier run of the job nor cached. Those scores are returned as
+     * completed futures, without an analysis since only the score is kept.
+     *
+     * @param texts   List of PDFText objects.
+     * @param concept The concept string.
+     * @param options The scoring options.
+     * @return One future per text, in the order of the input texts.
+     */
+    private List<CompletableFuture<SimilarityScore>> submitModelScores(List<PDFText> texts, String concept,
+            ScoringOptions options) {
+        if (texts.isEmpty()) {
+            return List.of();
+        }
+        IScoringListener listener = options.getListener();
+        boolean includeAnalysis = options.isIncludeAnalysis();
+        String promptVersion = includeAnalysis ? PROMPT_TEMPLATE_VERSION : SCORE_ONLY_PROMPT_TEMPLATE_VERSION;
+        List<String> keys = texts.stream()
+                .map(text -> scoreCache.createKey(text.getText(), concept, promptVersion))
+                .toList();
+        Map<String, Double> cached = scoreCache.getAll(keys);
+        logger.debug("Found {} of {} scores in the score cache", cached.size(), texts.size());
+
+        List<CompletableFuture<SimilarityScore>> futures = new ArrayList<>();
+        for (int i = 0; i < texts.size(); i++) {
+            PDFText text = texts.get(i);
+            String key = keys.get(i);
+            Double knownScore = findCompleted(options, text, concept);
+            if (knownScore == null) {
+                knownScore = cached.get(key);
+            }
+            if (knownScore != null) {
+                SimilarityScore score = withProvenance(new SimilarityScore(text, concept, knownScore),
+                        promptVersion);
+                listener.onScore(score);
+                futures.add(CompletableFuture.completedFuture(score));
+                continue;
+            }
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                SimilarityScore score = withProvenance(scoreText(text, concept, includeAnalysis), promptVersion);
+                scoreCache.put(key, score);
+                listener.onScore(score);
+                return score;
+            }, scoringExecutor));
+        }
+        return futures;
+    }
+
+    /**
+     * Waits for the submitted scores and collects them, recording a failure for
+     * every text that could not be scored.
+     *
+     * @param texts    List of PDFText objects.
+     * @param concept  The concept string.
+     * @param futures  The futures returned by submitModelScores.
+     * @param listener The listener notified about progress.
+     * @return The scores in the order of the input texts.
+     */
+    private ScoringResult collectModelScores(List<PDFText> texts, String concept,
+            List<CompletableFuture<SimilarityScore>> futures, IScoringListener listener) {
+        ScoringResult result = new ScoringResult();
+
+        // Joining in submission order keeps the scores aligned with the input texts
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                result.getScores().add(futures.get(i).join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                logger.warn("Failed to score text {}: {}", texts.get(i).getLabel(), cause.getMessage());
+                ScoringFailure failure = new ScoringFailure(texts.get(i), concept, cause.getMessage());
+                result.getFailures().add(failure);
+                listener.onFailure(failure);
+            }
+        }
 
-            if (json != null) {
-                SimilarityScore score = createSimilarityScore(text, concept, json);
-                scores.add(score);
-            } else {
-                logger.warn("Parsed JSON is null for content: {}", content);
+        scoreCache.flush();
+        logger.debug("Scored {} texts for concept {}", result.getScores().size(), concept);
+        return result;
+    }
+
+    /**
+     * Scores a single text against the concept. Without the analysis the model
+     * only generates the score, which is where most of the request time went.
+     *
+     * @param text            The PDFText object.
+     * @param concept         The concept string.
+     * @param includeAnalysis Whether the model is asked for its analysis.
+     * @return A SimilarityScore object.
+     * @throws IllegalStateException If the model response cannot be parsed.
+     */
+    private SimilarityScore scoreText(PDFText text, String concept, boolean includeAnalysis) {
+        logger.debug("Processing text: {}", text.getText());
+        ChatRequest request = buildChatRequest(text.getText(), concept, includeAnalysis);
+        logger.debug("Sending chat request: {}", request);
+        ChatResponse response = chat(request);
+
+        String content = response.message().content();
+        logger.debug("Received response content: {}", content);
+
+        if (includeAnalysis) {
+            OllamaResponse json = parseJson(content);
+            if (json != null && ScoreUtil.isInRange(json.getScore())) {
+                return createSimilarityScore(text, concept, json);
             }
         }
 
-        logger.info("Finished calculateScores method. Scores: {}", scores);
+        Double score = ScoreUtil.parseScore(content);
+        if (score == null) {
+            logger.warn("No score found in content: {}", content);
+            throw new IllegalStateException(String.format(UNPARSEABLE_RESPONSE_MSG_TEMPLATE, content));
+        }
+        return new SimilarityScore(text, concept, score);
+    }
+
+    /**
+     * Scores a single text against several concepts in one request.
+     *
+     * @param text     The PDFText object.
+     * @param concepts The concepts to compare.
+     * @return The scores keyed by normalized concept.
+     * @throws IllegalStateException If the model response cannot be parsed.
+     */
+    private Map<String, Double> scorePageConcepts(PDFText text, List<String> concepts) {
+        logger.debug("Processing text {} against {} concepts", text.getLabel(), concepts.size());
+        ChatRequest request = buildBatchChatRequest(text.getText(), concepts);
+        ChatResponse response = chat(request);
+
+        String content = response.message().content();
+        logger.debug("Received response content: {}", content);
+
+        OllamaResponse json = parseJson(content);
+
+        if (json == null || json.getScores() == null) {
+            logger.warn("Parsed JSON has no scores for content: {}", content);
+            throw new IllegalStateException(String.format(UNPARSEABLE_RESPONSE_MSG_TEMPLATE, content));
+        }
+
+        Map<String, Double> scores = new HashMap<>();
+        // Scores out of range are left out, so their concepts are reported as missing
+        json.getScores().forEach((concept, score) -> {
+            if (ScoreUtil.isInRange(score)) {
+                scores.put(normalizeConcept(concept), score);
+            }
+        });
         return scores;
     }
 
+    /**
+     * Splits the concepts of a page into chunks whose prompts fit within the
+     * configured token budget.
+     *
+     * @param text     The text content.
+     * @param concepts The concepts to split.
+     * @return The concept chunks, one per request.
+     */
+    private List<List<String>> splitConcepts(String text, List<String> concepts) {
+        int budget = scoringProperties.getBatch().getMaxPromptTokens();
+        int maxPerRequest = Math.max(1, scoringProperties.getBatch().getMaxConceptsPerRequest());
+        int baseTokens = estimateTokens(BATCH_SYSTEM_ACT_AS_CONTENT)
+                + estimateTokens(BATCH_SYSTEM_RESPONSE_FORMAT_CONTENT)
+                + estimateTokens(text);
+
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        int currentTokens = baseTokens;
+        for (String concept : concepts) {
+            int cost = estimateTokens(concept) + RESPONSE_TOKENS_PER_CONCEPT;
+            if (!current.isEmpty() && (currentTokens + cost > budget || current.size() >= maxPerRequest)) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                currentTokens = baseTokens;
+            }
+            current.add(concept);
+            currentTokens += cost;
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    /**
+     * Records the chat model and prompt template that produced a score.
+     *
+     * @param score         The score.
+     * @param promptVersion The version of the prompt template.
+     * @return The score.
+     */
+    private SimilarityScore withProvenance(SimilarityScore score, String promptVersion) {
+        score.setModel(config.getModel());
+        score.setPromptVersion(promptVersion);
+        return score;
+    }
+
+    /**
+     * Looks up a score that an earlier run of the job already completed.
+     *
+     * @param options The scoring options.
+     * @param text    The PDFText object.
+     * @param concept The concept string.
+     * @return The completed score, or null if the cell was not scored yet.
+     */
+    private Double findCompleted(ScoringOptions options, PDFText text, String concept) {
+        Map<String, Double> completed = options.getCompletedScores();
+        if (completed.isEmpty()) {
+            return null;
+        }
+        return completed.get(JobScore.createKey(text.getText(), concept));
+    }
+
+    /**
+     * Estimates the number of tokens of a text.
+     *
+     * @param text The text.
+     * @return The estimated token count.
+     */
+    private int estimateTokens(String text) {
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    /**
+     * Normalizes a concept so that minor differences in the model's echo of it
+     * still match.
+     *
+     * @param concept The concept string.
+     * @return The normalized concept.
+     */
+    private String normalizeConcept(String concept) {
+        return concept.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sends the request to the model through the concurrency limiter, which
+     * waits for a free slot and fails fast while the backend is down, and then
+     * to the least busy Ollama endpoint.
+     *
+     * @param request The ChatRequest object.
+     * @return The ChatResponse object.
+     */
+    private ChatResponse chat(ChatRequest request) {
+        return limiter.execute(() -> endpointPool.execute(config.getModel(), api -> api.chat(request)));
+    }
+
     /**
      * Validates the input parameters.
      *
@@ -88,34 +622,99 @@ public class OllamaSimilarityService implements IAISimilarityService {
     }
 
     /**
-     * Builds the ChatRequest for a given text and concept.
+     * Validates the input parameters of a multi-concept request.
+     *
+     * @param texts    List of PDFText objects.
+     * @param concepts List of concepts.
+     */
+    private void validateInputs(List<PDFText> texts, List<String> concepts) {
+        Assert.notNull(texts, "The 'texts' list must not be null.");
+        Assert.notEmpty(texts, "The 'texts' list must not be empty.");
+        Assert.notNull(concepts, "The 'concepts' list must not be null.");
+        Assert.notEmpty(concepts, "The 'concepts' list must not be empty.");
+        Assert.noNullElements(concepts, "The 'concepts' list must not contain null elements.");
+    }
+
+    /**
+     * Builds the ChatRequest for a given text and several concepts.
+     *
+     * @param text     The text content.
+     * @param concepts The concepts to compare.
+     * @return A ChatRequest object.
+     */
+    private ChatRequest buildBatchChatRequest(String text, List<String> concepts) {
+        String conceptList;
+        try {
+            conceptList = objMapper.writeValueAsString(concepts);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(CONCEPT_SERIALIZATION_MSG, e);
+        }
+
+        List<Message> messages = Arrays.asList(
+                Message.builder(Role.SYSTEM).withContent(BATCH_SYSTEM_ACT_AS_CONTENT).build(),
+                Message.builder(Role.SYSTEM).withContent(BATCH_SYSTEM_RESPONSE_FORMAT_CONTENT).build(),
+                Message.builder(Role.USER).withContent(String.format(TEXT_CONCEPTS_TEMPLATE, text, conceptList))
+                        .build());
+
+        // The response echoes every concept followed by its score
+        int maxTokens = BATCH_RESPONSE_OVERHEAD_TOKENS;
+        for (String concept : concepts) {
+            maxTokens += estimateTokens(concept) + RESPONSE_TOKENS_PER_CONCEPT;
+        }
+
+        return ChatRequest.builder(config.getModel())
+                .withFormat(FORMAT_JSON)
+                .withMessages(messages)
+                .withOptions(Map.of(NUM_PREDICT_OPTION, maxTokens))
+                .build();
+    }
+
+    /**
+     * Builds the ChatRequest for a given text and concept. Score-only requests
+     * stop after the score; requests with the analysis are only bounded in
+     * length.
      *
-     * @param text    The text content.
-     * @param concept The concept to compare.
+     * @param text            The text content.
+     * @param concept         The concept to compare.
+     * @param includeAnalysis Whether the model is asked for its analysis.
      * @return A ChatRequest object.
      */
-    private ChatRequest buildChatRequest(String text, String concept) {
-        List<Message> messages = createMessages(text, concept);
+    private ChatRequest buildChatRequest(String text, String concept, boolean includeAnalysis) {
+        List<Message> messages = createMessages(text, concept, includeAnalysis);
+        ScoringProperties.Response limits = scoringProperties.getResponse();
+
+        Map<String, Object> options = new HashMap<>();
+        if (includeAnalysis) {
+            options.put(NUM_PREDICT_OPTION, limits.getAnalysisMaxTokens());
+        } else {
+            options.put(NUM_PREDICT_OPTION, limits.getScoreOnlyMaxTokens());
+            if (!limits.getStopSequences().isEmpty()) {
+                options.put(STOP_OPTION, limits.getStopSequences());
+            }
+        }
+
         return ChatRequest.builder(config.getModel())
                 .withFormat(FORMAT_JSON)
                 .withMessages(messages)
+                .withOptions(options)
                 .build();
     }
 
     /**
      * Creates the list of messages for the ChatRequest.
      *
-     * @param text    The text content.
-     * @param concept The concept to compare.
+     * @param text            The text content.
+     * @param concept         The concept to compare.
+     * @param includeAnalysis Whether the model is asked for its analysis.
      * @return A list of Message objects.
      */
-    private List<Message> createMessages(String text, String concept) {
+    private List<Message> createMessages(String text, String concept, boolean includeAnalysis) {
         Message systemActAs = Message.builder(Role.SYSTEM)
                 .withContent(SYSTEM_ACT_AS_CONTENT)
                 .build();
 
         Message systemResponseFormat = Message.builder(Role.SYSTEM)
-                .withContent(SYSTEM_RESPONSE_FORMAT_CONTENT)
+                .withContent(includeAnalysis ? SYSTEM_RESPONSE_FORMAT_CONTENT : SYSTEM_SCORE_ONLY_FORMAT_CONTENT)
                 .build();
 
         Message userTextConcept = Message.builder(Role.USER)
@@ -142,7 +741,7 @@ public class OllamaSimilarityService implements IAISimilarityService {
 
     /**
      * Creates a SimilarityScore object from the given text, concept, and
-     * OllamaResponse.
+     * OllamaResponse, keeping the analysis of the model.
      *
      * @param text     The PDFText object.
      * @param concept  The concept string.
@@ -150,6 +749,15 @@ public class OllamaSimilarityService implements IAISimilarityService {
      * @return A SimilarityScore object.
      */
     private SimilarityScore createSimilarityScore(PDFText text, String concept, OllamaResponse response) {
-        return new SimilarityScore(text, concept, response.getScore());
+        SimilarityScore score = new SimilarityScore(text, concept, response.getScore());
+        score.setAnalysis(response.getAnalysis());
+        return score;
+    }
+
+    /**
+     * Model requests of one concept that were submitted but not yet awaited.
+     */
+    private record PendingScores(PreFilterResult preFiltered, List<PDFText> candidates,
+            List<CompletableFuture<SimilarityScore>> futures) {
     }
 }
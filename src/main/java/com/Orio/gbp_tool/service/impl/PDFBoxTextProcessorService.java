@@ -1,64 +1,237 @@
 package com.Orio.gbp_tool.service.impl;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import com.Orio.gbp_tool.config.properties.ExtractionProperties;
 import com.Orio.gbp_tool.model.FileEntity;
 import com.Orio.gbp_tool.model.PDFText;
 import com.Orio.gbp_tool.service.ITextProcessorService;
 
+import lombok.RequiredArgsConstructor;
+
 @Service
+@RequiredArgsConstructor
 public class PDFBoxTextProcessorService implements ITextProcessorService {
 
     private static final Logger logger = LoggerFactory.getLogger(PDFBoxTextProcessorService.class);
 
     // Constants
     private static final int MIN_TEXT_LENGTH = 200;
+    private static final String TEMP_FILE_PREFIX = "gbp-extract-";
+    private static final String PDF_SUFFIX = ".pdf";
     private static final String VALIDATION_FILE_NOT_NULL_MSG = "Provided file cannot be null";
+    private static final String VALIDATION_PATH_NOT_NULL_MSG = "Provided path cannot be null";
+    private static final String VALIDATION_WORKERS_POSITIVE_MSG = "Number of workers must be positive";
     private static final String EXCEPTION_INVALID_TEXT_TEMPLATE = "Provided text is invalid. Text title: %s";
 
+    private final ExtractionProperties extractionProperties;
+    @Qualifier("extractionExecutor")
+    private final ExecutorService extractionExecutor;
+
     @Override
     public List<PDFText> createText(FileEntity file) {
+        return createText(file, extractionProperties.resolveWorkers());
+    }
+
+    @Override
+    public List<PDFText> createText(FileEntity file, int workers) {
         validateFile(file);
+        Assert.isTrue(workers > 0, VALIDATION_WORKERS_POSITIVE_MSG);
 
-        List<PDFText> pdfTexts = new ArrayList<>();
         String title = file.getTitle();
+        Path spooled = null;
+        try {
+            spooled = spoolToTempFile(file);
+            return createText(spooled, title, workers);
+        } catch (IOException e) {
+            logger.error("Error occurred while spooling the PDF file: {}", title, e);
+            throw new IllegalArgumentException(String.format(EXCEPTION_INVALID_TEXT_TEMPLATE, title), e);
+        } finally {
+            deleteQuietly(spooled);
+        }
+    }
+
+    @Override
+    public List<PDFText> createText(Path pdf, String title) {
+        Assert.notNull(pdf, VALIDATION_PATH_NOT_NULL_MSG);
+        return createText(pdf, title, extractionProperties.resolveWorkers());
+    }
+
+    /**
+     * Extracts the pages of a PDF stored on disk.
+     *
+     * @param pdf     The path of the PDF file.
+     * @param title   The title of the PDF file.
+     * @param workers The number of workers.
+     * @return The extracted texts in page order.
+     */
+    private List<PDFText> createText(Path pdf, String title, int workers) {
         logger.debug("Starting text extraction from PDF file: {}", title);
+        long start = System.nanoTime();
 
-        try (PDDocument document = loadPDDocument(file.getData(), title)) {
-            PDFTextStripper pdfStripper = initializePDFTextStripper();
+        List<PDFText> pdfTexts;
+        try (PDDocument document = loadPDDocument(pdf, title)) {
             int numberOfPages = getNumberOfPages(document);
             logger.debug("Number of pages in the document: {}", numberOfPages);
 
-            for (int page = 1; page <= numberOfPages; page++) {
-                String pageText = extractTextFromPage(document, page, pdfStripper);
-                if (isTextTooShort(pageText)) {
-                    logger.debug("Omitted text from page {}: text length is less than {} characters", page,
-                            MIN_TEXT_LENGTH);
-                    continue;
-                }
-                PDFText pdfText = createPDFText(pageText, title, page);
-                pdfTexts.add(pdfText);
-                logger.debug("Extracted text from page {}: {}", page, truncateText(pageText));
+            if (workers > 1 && numberOfPages >= extractionProperties.getMinPagesForParallel()) {
+                pdfTexts = extractPagesInParallel(pdf, title, numberOfPages, workers);
+            } else {
+                pdfTexts = extractPages(document, title, 1, numberOfPages);
             }
         } catch (IOException e) {
             logger.error("Error occurred while processing the PDF file: {}", title, e);
             throw new IllegalArgumentException(String.format(EXCEPTION_INVALID_TEXT_TEMPLATE, title), e);
         }
 
-        logger.debug("Completed text extraction from PDF file: {}", title);
+        logger.debug("Completed text extraction from PDF file: {} in {} ms", title,
+                (System.nanoTime() - start) / 1_000_000);
+        return pdfTexts;
+    }
+
+    /**
+     * Streams the stored file content to a temporary file, so PDFBox can read
+     * it from disk instead of from a byte array.
+     *
+     * @param file The FileEntity.
+     * @return The path of the temporary file.
+     * @throws IOException If the content cannot be read or written.
+     */
+    private Path spoolToTempFile(FileEntity file) throws IOException {
+        Path spooled = Files.createTempFile(TEMP_FILE_PREFIX, PDF_SUFFIX);
+        try (InputStream in = file.getData().getBinaryStream()) {
+            Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            return spooled;
+        } catch (SQLException | IOException e) {
+            deleteQuietly(spooled);
+            throw e instanceof IOException io ? io : new IOException(e);
+        }
+    }
+
+    /**
+     * Deletes a temporary file, logging instead of failing if it cannot be
+     * removed.
+     *
+     * @param path The path to delete, may be null.
+     */
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete temporary file {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Extracts the text of a range of pages, omitting pages that are too short.
+     *
+     * @param document  The PDDocument.
+     * @param title     The title of the PDF file.
+     * @param firstPage The first page to extract, 1-based.
+     * @param lastPage  The last page to extract, inclusive.
+     * @return The extracted texts in page order.
+     * @throws IOException If an error occurs during text extraction.
+     */
+    private List<PDFText> extractPages(PDDocument document, String title, int firstPage, int lastPage)
+            throws IOException {
+        List<PDFText> pdfTexts = new ArrayList<>();
+        PDFTextStripper pdfStripper = initializePDFTextStripper();
+
+        for (int page = firstPage; page <= lastPage; page++) {
+            String pageText = extractTextFromPage(document, page, pdfStripper);
+            if (isTextTooShort(pageText)) {
+                logger.debug("Omitted text from page {}: text length is less than {} characters", page,
+                        MIN_TEXT_LENGTH);
+                continue;
+            }
+            PDFText pdfText = createPDFText(pageText, title, page);
+            pdfTexts.add(pdfText);
+            logger.debug("Extracted text from page {}: {}", page, truncateText(pageText));
+        }
         return pdfTexts;
     }
 
+    /**
+     * Splits the page range into contiguous chunks, one per worker. PDFBox
+     * documents are not thread-safe, so every worker loads its own copy of the
+     * document.
+     *
+     * @param pdf           The path of the PDF file.
+     * @param title         The title of the PDF file.
+     * @param numberOfPages The number of pages in the document.
+     * @param workers       The number of workers.
+     * @return The extracted texts in page order.
+     * @throws IOException If a worker fails to load or extract the document.
+     */
+    private List<PDFText> extractPagesInParallel(Path pdf, String title, int numberOfPages, int workers)
+            throws IOException {
+        int chunkSize = (numberOfPages + workers - 1) / workers;
+        logger.debug("Extracting {} pages of {} with {} workers", numberOfPages, title, workers);
+
+        List<CompletableFuture<List<PDFText>>> chunks = new ArrayList<>();
+        for (int firstPage = 1; firstPage <= numberOfPages; firstPage += chunkSize) {
+            int first = firstPage;
+            int last = Math.min(numberOfPages, firstPage + chunkSize - 1);
+            chunks.add(CompletableFuture.supplyAsync(() -> extractChunk(pdf, title, first, last),
+                    extractionExecutor));
+        }
+
+        List<PDFText> pdfTexts = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<PDFText>> chunk : chunks) {
+                pdfTexts.addAll(chunk.join());
+            }
+        } catch (CompletionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+        return pdfTexts;
+    }
+
+    /**
+     * Loads a private copy of the document and extracts a range of its pages.
+     *
+     * @param pdf       The path of the PDF file.
+     * @param title     The title of the PDF file.
+     * @param firstPage The first page to extract, 1-based.
+     * @param lastPage  The last page to extract, inclusive.
+     * @return The extracted texts in page order.
+     */
+    private List<PDFText> extractChunk(Path pdf, String title, int firstPage, int lastPage) {
+        try (PDDocument document = loadPDDocument(pdf, title)) {
+            return extractPages(document, title, firstPage, lastPage);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Validates the provided FileEntity.
      *
@@ -69,16 +242,19 @@ public class PDFBoxTextProcessorService implements ITextProcessorService {
     }
 
     /**
-     * Loads a PDDocument from the provided byte array.
+     * Loads a PDDocument from the provided file. The file is read through a
+     * buffered random-access reader and decoded streams beyond the configured
+     * memory budget are cached in scratch files.
      *
-     * @param data  The byte array of the PDF.
+     * @param pdf   The path of the PDF file.
      * @param title The title of the PDF file.
      * @return A loaded PDDocument.
      * @throws IOException If an error occurs while loading the PDF.
      */
-    private PDDocument loadPDDocument(byte[] data, String title) throws IOException {
+    private PDDocument loadPDDocument(Path pdf, String title) throws IOException {
         try {
-            return Loader.loadPDF(data);
+            return Loader.loadPDF(pdf.toFile(),
+                    MemoryUsageSetting.setupMixed(extractionProperties.getMaxMainMemoryBytes()).streamCache);
         } catch (IOException e) {
             logger.error("Failed to load PDF document: {}", title, e);
             throw e;
@@ -142,7 +318,7 @@ public class PDFBoxTextProcessorService implements ITextProcessorService {
      */
     private PDFText createPDFText(String text, String title, int page) {
         String pageLabel = title + page;
-        return new PDFText(text, title, pageLabel);
+        return new PDFText(text, title, pageLabel, page);
     }
 
     /**
@@ -0,0 +1,505 @@
+package com.Orio.gbp_tool.service.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.Orio.gbp_tool.config.properties.ScoringProperties;
+import com.Orio.gbp_tool.exception.ChartNotFoundException;
+import com.Orio.gbp_tool.exception.NoPdfFoundException;
+import com.Orio.gbp_tool.model.ChartDataResult;
+import com.Orio.gbp_tool.model.JobScore;
+import com.Orio.gbp_tool.model.JobStatus;
+import com.Orio.gbp_tool.model.JobType;
+import com.Orio.gbp_tool.model.ScoringFailure;
+import com.Orio.gbp_tool.model.ScoringJob;
+import com.Orio.gbp_tool.model.ScoringMode;
+import com.Orio.gbp_tool.model.ScoringOptions;
+import com.Orio.gbp_tool.model.ScoringResult;
+import com.Orio.gbp_tool.model.SimilarityScore;
+import com.Orio.gbp_tool.model.TextSearchResult;
+import com.Orio.gbp_tool.repository.IGraphDatabaseRepo;
+import com.Orio.gbp_tool.repository.ISQLRepo;
+import com.Orio.gbp_tool.repository.impl.sql.JobScoreRepo;
+import com.Orio.gbp_tool.repository.impl.sql.ScoringJobRepo;
+import com.Orio.gbp_tool.service.IAISimilarityService;
+import com.Orio.gbp_tool.service.IChartService;
+import com.Orio.gbp_tool.service.IJobEventService;
+import com.Orio.gbp_tool.service.IScoreCacheService;
+import com.Orio.gbp_tool.service.IScoringJobService;
+import com.Orio.gbp_tool.service.IScoringListener;
+import com.Orio.gbp_tool.util.HashUtil;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class ScoringJobService implements IScoringJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoringJobService.class);
+
+    // Constants for validation messages
+    private static final String CONCEPT_NOT_EMPTY_MSG = "Concept must not be null or empty";
+    private static final String CONCEPTS_NOT_EMPTY_MSG = "Concepts list must not be empty";
+    private static final String TEXT_NAMES_NOT_EMPTY_MSG = "Text names list must not be empty";
+    private static final String LABEL_NOT_EMPTY_MSG = "Label must not be null or empty";
+
+    // Constants for exception messages
+    private static final String NO_TEXTS_FOUND_MSG_TEMPLATE = "No texts were found out of the provided %s";
+
+    private static final String KEY_SEPARATOR = "\u0000";
+    private static final String LIST_SEPARATOR = "\u0001";
+    private static final String ANALYSIS_KEY_SUFFIX = "analysis";
+    private static final List<JobStatus> INTERRUPTED_STATUSES = List.of(JobStatus.QUEUED, JobStatus.RUNNING);
+
+    private final ScoringJobRepo jobRepo;
+    private final JobScoreRepo jobScoreRepo;
+    private final ISQLRepo sqlRepo;
+    private final IGraphDatabaseRepo graphRepo;
+    private final IAISimilarityService aiSimilarityService;
+    private final IChartService chartService;
+    private final IScoreCacheService scoreCache;
+    private final IJobEventService eventService;
+    private final ScoringProperties scoringProperties;
+    @Qualifier("jobExecutor")
+    private final ExecutorService jobExecutor;
+
+    // Progress of the jobs queued or executing in this instance, by job key
+    private final Map<String, JobProgress> runningJobs = new ConcurrentHashMap<>();
+
+    @Override
+    public ScoringJob submitConceptJob(String concept, List<String> textNames, ScoringMode mode,
+            boolean includeAnalysis) {
+        Assert.hasText(concept, CONCEPT_NOT_EMPTY_MSG);
+        Assert.notEmpty(textNames, TEXT_NAMES_NOT_EMPTY_MSG);
+
+        return submit(JobType.CONCEPT, null, List.of(concept), textNames, mode, includeAnalysis);
+    }
+
+    @Override
+    public ScoringJob submitChartJob(List<String> concepts, List<String> pdfNames, String label,
+            ScoringMode mode) {
+        Assert.notEmpty(concepts, CONCEPTS_NOT_EMPTY_MSG);
+        Assert.notEmpty(pdfNames, TEXT_NAMES_NOT_EMPTY_MSG);
+        Assert.hasText(label, LABEL_NOT_EMPTY_MSG);
+
+        return submit(JobType.CHART, label, concepts, pdfNames, mode, false);
+    }
+
+    @Override
+    public ScoringJob submitChartConceptsJob(String label, List<String> concepts, ScoringMode mode) {
+        Assert.hasText(label, LABEL_NOT_EMPTY_MSG);
+        Assert.notEmpty(concepts, CONCEPTS_NOT_EMPTY_MSG);
+
+        return submit(JobType.CHART_CONCEPTS, label, concepts, List.of(), mode, false);
+    }
+
+    @Override
+    public ScoringJob submitChartPdfsJob(String label, List<String> pdfNames, ScoringMode mode) {
+        Assert.hasText(label, LABEL_NOT_EMPTY_MSG);
+        Assert.notEmpty(pdfNames, TEXT_NAMES_NOT_EMPTY_MSG);
+
+        return submit(JobType.CHART_PDFS, label, List.of(), pdfNames, mode, false);
+    }
+
+    @Override
+    public Optional<ScoringJob> getJob(Long id) {
+        // Running jobs are read from memory, as their rows are only saved at checkpoints
+        return runningJobs.values().stream()
+                .map(progress -> progress.job)
+                .filter(job -> id.equals(job.getId()))
+                .findFirst()
+                .or(() -> jobRepo.findById(id));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        if (!scoringProperties.getJobs().isResumeOnStartup()) {
+            return;
+        }
+
+        List<ScoringJob> interrupted = jobRepo.findByStatusIn(INTERRUPTED_STATUSES);
+        logger.info("Resuming {} interrupted scoring jobs", interrupted.size());
+        synchronized (runningJobs) {
+            interrupted.stream()
+                    .filter(job -> !runningJobs.containsKey(job.getJobKey()))
+                    .forEach(this::enqueue);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${scoring.jobs.checkpoint-interval-ms:5000}")
+    public void checkpointRunningJobs() {
+        runningJobs.values().forEach(progress -> {
+            try {
+                progress.checkpoint();
+            } catch (RuntimeException e) {
+                logger.warn("Failed to checkpoint job {}: {}", progress.job.getId(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Queues the job of a request on the job executor. The job of an identical
+     * request that is queued or running in this instance is returned as is, as
+     * is a completed chart job whose chart is still stored.
+     *
+     * @param type            The job type.
+     * @param label           The chart label, null for concept jobs.
+     * @param concepts        The concepts to score.
+     * @param textNames       The names of the texts to score.
+     * @param mode            The scoring mode.
+     * @param includeAnalysis Whether the model is asked for its analysis.
+     * @return The job, which the executor keeps updating once queued.
+     */
+    private ScoringJob submit(JobType type, String label, List<String> concepts, List<String> textNames,
+            ScoringMode mode, boolean includeAnalysis) {
+        ScoringMode resolvedMode = mode != null ? mode : ScoringMode.FULL;
+        String jobKey = createJobKey(type, label, concepts, textNames, resolvedMode, includeAnalysis);
+
+        // Serialised so identical requests can't both miss the job and queue it twice
+        synchronized (runningJobs) {
+            JobProgress active = runningJobs.get(jobKey);
+            if (active != null) {
+                logger.info("Job {} is already queued or running", active.job.getId());
+                return active.job;
+            }
+
+            Optional<ScoringJob> stored = jobRepo.findByJobKey(jobKey);
+            if (stored.isPresent() && isDone(stored.get())) {
+                logger.info("Job {} already completed", stored.get().getId());
+                return stored.get();
+            }
+
+            ScoringJob job = stored.orElseGet(() -> {
+                ScoringJob created = new ScoringJob();
+                created.setJobKey(jobKey);
+                created.setType(type);
+                created.setLabel(label);
+                created.setConcepts(concepts);
+                created.setTextNames(textNames);
+                created.setMode(resolvedMode);
+                created.setIncludeAnalysis(includeAnalysis);
+                created.setCreatedAt(Instant.now());
+                return created;
+            });
+            job.setStatus(JobStatus.QUEUED);
+            job.setUpdatedAt(Instant.now());
+
+            ScoringJob saved;
+            try {
+                saved = jobRepo.save(job);
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the job after the lookup and runs it
+                logger.info("Job for the request was created concurrently, returning it");
+                return jobRepo.findByJobKey(jobKey).orElseThrow(() -> e);
+            }
+            enqueue(saved);
+            return saved;
+        }
+    }
+
+    /**
+     * Registers the job as queued in this instance and submits it to the job
+     * executor. Callers hold the lock on the running jobs.
+     *
+     * @param job The job.
+     */
+    private void enqueue(ScoringJob job) {
+        JobProgress progress = new JobProgress(job);
+        runningJobs.put(job.getJobKey(), progress);
+        jobExecutor.submit(() -> execute(progress));
+    }
+
+    /**
+     * Checks whether running the job again would only repeat its result. A
+     * completed chart job would save a second chart under the same label while
+     * the first one is stored; the other job types merge their results, so
+     * running them again restores what was deleted since.
+     *
+     * @param job The stored job.
+     * @return Whether the job is done.
+     */
+    private boolean isDone(ScoringJob job) {
+        if (job.getStatus() != JobStatus.COMPLETED || job.getType() != JobType.CHART) {
+            return false;
+        }
+        try {
+            sqlRepo.getChartConcepts(job.getLabel());
+            return true;
+        } catch (ChartNotFoundException e) {
+            logger.info("Chart \"{}\" of completed job {} was removed, running the job again", job.getLabel(),
+                    job.getId());
+            return false;
+        }
+    }
+
+    /**
+     * Runs the job to completion, skipping the cells that earlier runs of the
+     * job completed.
+     *
+     * @param progress The progress of the queued job.
+     * @return The finished job.
+     */
+    private ScoringJob execute(JobProgress progress) {
+        ScoringJob job = progress.job;
+        try {
+            start(job);
+            jobScoreRepo.findByJobId(job.getId())
+                    .forEach(completed -> progress.completed.put(completed.getCellKey(), completed.getScore()));
+            if (!progress.completed.isEmpty()) {
+                logger.info("Resuming job {} with {} completed scores", job.getId(), progress.completed.size());
+            }
+            ScoringOptions options = ScoringOptions.builder()
+                    .mode(job.getMode())
+                    .includeAnalysis(Boolean.TRUE.equals(job.getIncludeAnalysis()))
+                    .completedScores(Map.copyOf(progress.completed))
+                    .listener(progress)
+                    .build();
+
+            switch (job.getType()) {
+                case CHART -> runChart(job, options);
+                case CHART_CONCEPTS -> runChartConcepts(job, options);
+                case CHART_PDFS -> runChartPdfs(job, options);
+                default -> runConcept(job, options);
+            }
+            finish(progress, JobStatus.COMPLETED, null);
+        } catch (Exception e) {
+            logger.error("Job {} failed", job.getId(), e);
+            finish(progress, JobStatus.FAILED, e.getMessage());
+        } finally {
+            runningJobs.remove(job.getJobKey());
+        }
+        return job;
+    }
+
+    /**
+     * Scores the texts of a concept job and stores the concept in the graph.
+     *
+     * @param job     The job.
+     * @param options The scoring options.
+     * @throws NoPdfFoundException If none of the texts exist.
+     */
+    private void runConcept(ScoringJob job, ScoringOptions options) throws NoPdfFoundException {
+        TextSearchResult texts = sqlRepo.getTexts(job.getTextNames());
+        job.setPdfsNotFound(texts.getNotFound());
+
+        if (texts.getFound().isEmpty()) {
+            throw new NoPdfFoundException(String.format(NO_TEXTS_FOUND_MSG_TEMPLATE, job.getTextNames()));
+        }
+
+        String concept = job.getConcepts().get(0);
+        ScoringResult result = aiSimilarityService.scoreTexts(texts.getFound(), concept, options);
+        graphRepo.addConcept(result.getScores(), concept);
+    }
+
+    /**
+     * Builds and saves the chart of a chart job.
+     *
+     * @param job     The job.
+     * @param options The scoring options.
+     * @throws NoPdfFoundException If none of the PDFs exist.
+     */
+    private void runChart(ScoringJob job, ScoringOptions options) throws NoPdfFoundException {
+        ChartDataResult result = chartService.createChart(job.getConcepts(), job.getTextNames(), job.getLabel(),
+                options);
+        job.setPdfsNotFound(result.getPdfsNotFound());
+        sqlRepo.saveChart(result.getChartData());
+    }
+
+    /**
+     * Adds the concepts of the job to an existing chart, scoring only the new
+     * series.
+     *
+     * @param job     The job.
+     * @param options The scoring options.
+     * @throws ChartNotFoundException If the chart does not exist.
+     * @throws NoPdfFoundException    If the chart has no pages.
+     */
+    private void runChartConcepts(ScoringJob job, ScoringOptions options)
+            throws ChartNotFoundException, NoPdfFoundException {
+        chartService.addConcepts(job.getLabel(), job.getConcepts(), options);
+    }
+
+    /**
+     * Adds the PDFs of the job to an existing chart, scoring only their pages.
+     *
+     * @param job     The job.
+     * @param options The scoring options.
+     * @throws ChartNotFoundException If the chart does not exist.
+     * @throws NoPdfFoundException    If none of the PDFs exist.
+     */
+    private void runChartPdfs(ScoringJob job, ScoringOptions options)
+            throws ChartNotFoundException, NoPdfFoundException {
+        ChartDataResult result = chartService.addPdfs(job.getLabel(), job.getTextNames(), options);
+        job.setPdfsNotFound(result.getPdfsNotFound());
+    }
+
+    /**
+     * Marks the job as running and resets its progress counters.
+     *
+     * @param job The job.
+     */
+    private void start(ScoringJob job) {
+        synchronized (job) {
+            logger.info("Starting {} job {}", job.getType(), job.getId());
+            job.setStatus(JobStatus.RUNNING);
+            job.setStartedAt(Instant.now());
+            job.setUpdatedAt(job.getStartedAt());
+            job.setFinishedAt(null);
+            job.setMessage(null);
+            job.setTotalTasks(0);
+            job.setCompletedTasks(0);
+            job.setFailedTasks(0);
+            jobRepo.save(job);
+        }
+        eventService.publishStatus(job);
+    }
+
+    /**
+     * Saves outstanding scores and records the final state of the job. The
+     * completed scores of a successful job are no longer needed for resuming
+     * and are removed; those of a failed job are kept for its next run.
+     *
+     * @param progress The progress of the job.
+     * @param status   The final status.
+     * @param message  The failure message, if any.
+     */
+    private void finish(JobProgress progress, JobStatus status, String message) {
+        ScoringJob job = progress.job;
+        try {
+            progress.checkpoint();
+            if (status == JobStatus.COMPLETED) {
+                jobScoreRepo.deleteByJobId(job.getId());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to save the completed scores of job {}: {}", job.getId(), e.getMessage());
+        }
+        synchronized (job) {
+            job.setStatus(status);
+            job.setMessage(message);
+            job.setFinishedAt(Instant.now());
+            job.setUpdatedAt(job.getFinishedAt());
+            logger.info("Job {} finished with status {}. Completed: {}/{}, failed: {}", job.getId(), status,
+                    job.getCompletedTasks(), job.getTotalTasks(), job.getFailedTasks());
+            jobRepo.save(job);
+        }
+        eventService.publishStatus(job);
+    }
+
+    /**
+     * Creates the key identifying a request.
+     *
+     * @param type      The job type.
+     * @param label     The chart label.
+     * @param concepts  The concepts.
+     * @param textNames The text names.
+     * @param mode            The scoring mode.
+     * @param includeAnalysis Whether the model is asked for its analysis.
+     * @return The job key.
+     */
+    private String createJobKey(JobType type, String label, List<String> concepts, List<String> textNames,
+            ScoringMode mode, boolean includeAnalysis) {
+        String composite = String.join(KEY_SEPARATOR, type.name(), mode.name(), String.valueOf(label),
+                String.join(LIST_SEPARATOR, concepts), String.join(LIST_SEPARATOR, textNames));
+        // Appended only when set, so the keys of score-only jobs stay the same
+        if (includeAnalysis) {
+            composite += KEY_SEPARATOR + ANALYSIS_KEY_SUFFIX;
+        }
+        return HashUtil.sha256Hex(composite);
+    }
+
+    /**
+     * Tracks job progress. Scoring threads only update counters and queue the
+     * scores they complete; the checkpoint timer and the job thread persist
+     * them, so scoring waits at most for the job row to be saved.
+     */
+    private class JobProgress implements IScoringListener {
+
+        private final ScoringJob job;
+        // Scores completed by this or an earlier run, by cell key
+        private final Map<String, Double> completed = new ConcurrentHashMap<>();
+        // Scores completed since the last checkpoint
+        private final Queue<JobScore> pending = new ConcurrentLinkedQueue<>();
+        private volatile boolean changed;
+
+        JobProgress(ScoringJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public void onTasksPlanned(int count) {
+            synchronized (job) {
+                job.setTotalTasks(job.getTotalTasks() + count);
+            }
+        }
+
+        @Override
+        public void onScore(SimilarityScore score) {
+            synchronized (job) {
+                job.setCompletedTasks(job.getCompletedTasks() + 1);
+            }
+            String cellKey = JobScore.createKey(score.getText().getText(), score.getConcept());
+            if (completed.putIfAbsent(cellKey, score.getScore()) == null) {
+                pending.add(new JobScore(job.getId(), cellKey, score.getScore()));
+            }
+            changed = true;
+
+            // Subscribers are notified outside the lock so slow clients don't stall scoring
+            eventService.publishScore(job, score);
+        }
+
+        @Override
+        public void onFailure(ScoringFailure failure) {
+            synchronized (job) {
+                job.setFailedTasks(job.getFailedTasks() + 1);
+            }
+            changed = true;
+        }
+
+        /**
+         * Persists the scores completed since the last checkpoint together with
+         * the job progress. Runs on the checkpoint timer and the job thread,
+         * never on scoring threads. The job row is saved under the job lock,
+         * like every other save of a running job, so saves never interleave.
+         */
+        private synchronized void checkpoint() {
+            if (!changed && pending.isEmpty()) {
+                return;
+            }
+            changed = false;
+
+            List<JobScore> drained = new ArrayList<>();
+            for (JobScore score = pending.poll(); score != null; score = pending.poll()) {
+                drained.add(score);
+            }
+            jobScoreRepo.saveAll(drained);
+            scoreCache.flush();
+
+            synchronized (job) {
+                job.setUpdatedAt(Instant.now());
+                jobRepo.save(job);
+            }
+            eventService.publishStatus(job);
+            logger.debug("Checkpointed job {}: {}/{} tasks completed, {} new scores saved", job.getId(),
+                    job.getCompletedTasks(), job.getTotalTasks(), drained.size());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.Orio.gbp_tool.service.impl;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.Orio.gbp_tool.config.properties.ScoringProperties;
+import com.Orio.gbp_tool.model.JobStatus;
+import com.Orio.gbp_tool.model.ScoringJob;
+import com.Orio.gbp_tool.model.SimilarityScore;
+import com.Orio.gbp_tool.model.dto.JobStatusResponse;
+import com.Orio.gbp_tool.service.IJobEventService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class SseJobEventService implements IJobEventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseJobEventService.class);
+
+    // Constants for event names
+    private static final String SCORE_EVENT = "score";
+    private static final String STATUS_EVENT = "status";
+
+    private final ScoringProperties scoringProperties;
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    @Override
+    public SseEmitter subscribe(ScoringJob job) {
+        SseEmitter emitter = new SseEmitter(scoringProperties.getJobs().getStreamTimeoutMs());
+        Long jobId = job.getId();
+
+        emitter.onCompletion(() -> remove(jobId, emitter));
+        emitter.onTimeout(() -> remove(jobId, emitter));
+        emitter.onError(e -> remove(jobId, emitter));
+
+        JobStatusResponse status = JobStatusResponse.from(job);
+        if (!send(emitter, STATUS_EVENT, status)) {
+            return emitter;
+        }
+
+        if (isFinished(status.getStatus())) {
+            emitter.complete();
+            return emitter;
+        }
+
+        emitters.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+        logger.debug("Subscribed to events of job {}", jobId);
+        return emitter;
+    }
+
+    @Override
+    public void publishScore(ScoringJob job, SimilarityScore score) {
+        List<SseEmitter> subscribers = emitters.get(job.getId());
+        if (subscribers == null) {
+            return;
+        }
+        subscribers.forEach(emitter -> send(emitter, SCORE_EVENT, score));
+    }
+
+    @Override
+    public void publishStatus(ScoringJob job) {
+        List<SseEmitter> subscribers = emitters.get(job.getId());
+        if (subscribers == null) {
+            return;
+        }
+
+        JobStatusResponse status = JobStatusResponse.from(job);
+        subscribers.forEach(emitter -> send(emitter, STATUS_EVENT, status));
+
+        if (isFinished(status.getStatus())) {
+            emitters.remove(job.getId());
+            subscribers.forEach(SseEmitter::complete);
+        }
+    }
+
+    /**
+     * Sends an event, dropping the subscriber if the client went away.
+     *
+     * @param emitter The emitter.
+     * @param name    The event name.
+     * @param data    The event payload.
+     * @return Whether the event was sent.
+     */
+    private boolean send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping event subscriber: {}", e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private boolean isFinished(JobStatus status) {
+        return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+    }
+
+    private void remove(Long jobId, SseEmitter emitter) {
+        emitters.computeIfPresent(jobId, (id, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
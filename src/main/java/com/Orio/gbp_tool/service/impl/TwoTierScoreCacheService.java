@@ -0,0 +1,241 @@
+package com.Orio.gbp_tool.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.Orio.gbp_tool.config.OllamaConfig;
+import com.Orio.gbp_tool.config.properties.ScoringProperties;
+import com.Orio.gbp_tool.model.ScoreCacheStats;
+import com.Orio.gbp_tool.model.SimilarityScore;
+import com.Orio.gbp_tool.repository.impl.sql.SimilarityScoreRepo;
+import com.Orio.gbp_tool.service.IScoreCacheService;
+import com.Orio.gbp_tool.util.HashUtil;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class TwoTierScoreCacheService implements IScoreCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoTierScoreCacheService.class);
+
+    // Constants
+    private static final String KEY_SEPARATOR = "\u0000";
+    private static final int DATABASE_LOOKUP_CHUNK_SIZE = 1000;
+    private static final String TEXT_NOT_NULL_MSG = "Text must not be null";
+    private static final String CONCEPT_NOT_NULL_MSG = "Concept must not be null";
+    private static final String PROMPT_VERSION_NOT_EMPTY_MSG = "Prompt version must not be empty";
+
+    private final SimilarityScoreRepo similarityScoreRepo;
+    private final OllamaConfig config;
+    private final ScoringProperties scoringProperties;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong databaseHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private final List<SimilarityScore> pendingWrites = new ArrayList<>();
+
+    private Map<String, Double> memoryTier;
+
+    @PostConstruct
+    void initMemoryTier() {
+        int maxEntries = scoringProperties.getCache().getMemoryMaxEntries();
+        memoryTier = Collections.synchronizedMap(new LinkedHashMap<String, Double>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Double> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        logger.info("Score cache initialized. Enabled: {}, memory tier size: {}",
+                scoringProperties.getCache().isEnabled(), maxEntries);
+    }
+
+    @Override
+    public String createKey(String text, String concept, String promptVersion) {
+        Assert.notNull(text, TEXT_NOT_NULL_MSG);
+        Assert.notNull(concept, CONCEPT_NOT_NULL_MSG);
+        Assert.hasText(promptVersion, PROMPT_VERSION_NOT_EMPTY_MSG);
+
+        String composite = String.join(KEY_SEPARATOR, HashUtil.sha256Hex(text), concept, config.getModel(),
+                promptVersion);
+        return HashUtil.sha256Hex(composite);
+    }
+
+    @Override
+    public Map<String, Double> getAll(Collection<String> keys) {
+        Map<String, Double> found = new HashMap<>();
+        if (!scoringProperties.getCache().isEnabled() || keys.isEmpty()) {
+            return found;
+        }
+
+        Set<String> missingInMemory = new HashSet<>();
+        for (String key : keys) {
+            Double score = memoryTier.get(key);
+            if (score != null) {
+                found.put(key, score);
+            } else {
+                missingInMemory.add(key);
+            }
+        }
+        memoryHits.addAndGet(keys.size() - missingInMemory.size());
+
+        for (SimilarityScore entry : findInDatabase(missingInMemory)) {
+            found.put(entry.getCacheKey(), entry.getScore());
+            memoryTier.put(entry.getCacheKey(), entry.getScore());
+            missingInMemory.remove(entry.getCacheKey());
+            databaseHits.incrementAndGet();
+        }
+        misses.addAndGet(missingInMemory.size());
+
+        logger.debug("Score cache lookup for {} keys: {} found, {} missing", keys.size(), found.size(),
+                missingInMemory.size());
+        return found;
+    }
+
+    @Override
+    public void put(String key, SimilarityScore score) {
+        if (!scoringProperties.getCache().isEnabled()) {
+            return;
+        }
+        memoryTier.put(key, score.getScore());
+
+        List<SimilarityScore> batch = null;
+        synchronized (pendingWrites) {
+            pendingWrites.add(createEntry(key, score));
+            if (pendingWrites.size() >= scoringProperties.getCache().getFlushBatchSize()) {
+                batch = drainPendingWrites();
+            }
+        }
+        if (batch != null) {
+            persist(batch);
+        }
+    }
+
+    @Override
+    public void putAll(Map<String, SimilarityScore> scores) {
+        scores.forEach(this::put);
+        flush();
+    }
+
+    @Override
+    public void flush() {
+        List<SimilarityScore> batch;
+        synchronized (pendingWrites) {
+            batch = drainPendingWrites();
+        }
+        persist(batch);
+    }
+
+    @Override
+    public ScoreCacheStats getStats() {
+        long hits = memoryHits.get() + databaseHits.get();
+        long total = hits + misses.get();
+        double hitRatio = total == 0 ? 0.0 : (double) hits / total;
+        return new ScoreCacheStats(memoryHits.get(), databaseHits.get(), misses.get(), memoryTier.size(), hitRatio);
+    }
+
+    /**
+     * Takes all buffered entries out of the write buffer. Callers must hold the
+     * buffer lock.
+     *
+     * @return The buffered entries.
+     */
+    private List<SimilarityScore> drainPendingWrites() {
+        List<SimilarityScore> batch = new ArrayList<>(pendingWrites);
+        pendingWrites.clear();
+        return batch;
+    }
+
+    /**
+     * Writes a batch of entries to the database, skipping keys that are already
+     * stored.
+     *
+     * @param batch The entries to write.
+     */
+    private void persist(List<SimilarityScore> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = new HashSet<>();
+        findInDatabase(batch.stream().map(SimilarityScore::getCacheKey).toList())
+                .forEach(entry -> existing.add(entry.getCacheKey()));
+        Set<String> seen = new HashSet<>();
+        List<SimilarityScore> entries = batch.stream()
+                .filter(entry -> !existing.contains(entry.getCacheKey()) && seen.add(entry.getCacheKey()))
+                .toList();
+
+        try {
+            similarityScoreRepo.saveAll(entries);
+            logger.debug("Persisted {} scores to the score cache", entries.size());
+        } catch (DataIntegrityViolationException e) {
+            // Another run stored some of these keys in the meantime, keep the rest of the batch
+            logger.warn("Some scores were already cached by a concurrent run: {}", e.getMessage());
+            entries.forEach(this::persistSingle);
+        }
+    }
+
+    /**
+     * Writes a single entry, ignoring it if its key is already stored.
+     *
+     * @param entry The entry to write.
+     */
+    private void persistSingle(SimilarityScore entry) {
+        entry.setId(null);
+        try {
+            similarityScoreRepo.save(entry);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Score with key {} is already cached", entry.getCacheKey());
+        }
+    }
+
+    /**
+     * Looks up cached scores in the database in chunks to keep the IN clause
+     * bounded.
+     *
+     * @param keys The cache keys to look up.
+     * @return The cached entries that were found.
+     */
+    private List<SimilarityScore> findInDatabase(Collection<String> keys) {
+        List<SimilarityScore> found = new ArrayList<>();
+        List<String> keyList = new ArrayList<>(keys);
+        for (int from = 0; from < keyList.size(); from += DATABASE_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = keyList.subList(from, Math.min(from + DATABASE_LOOKUP_CHUNK_SIZE, keyList.size()));
+            found.addAll(similarityScoreRepo.findByCacheKeyIn(chunk));
+        }
+        return found;
+    }
+
+    /**
+     * Creates the persistent cache entry for a computed score.
+     *
+     * @param key   The cache key.
+     * @param score The computed SimilarityScore.
+     * @return A new SimilarityScore entity holding only the cached values.
+     */
+    private SimilarityScore createEntry(String key, SimilarityScore score) {
+        SimilarityScore entry = new SimilarityScore();
+        entry.setConcept(score.getConcept());
+        entry.setScore(score.getScore());
+        entry.setCacheKey(key);
+        return entry;
+    }
+}
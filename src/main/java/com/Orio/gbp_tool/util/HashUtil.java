@@ -0,0 +1,47 @@
+package com.Orio.gbp_tool.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class HashUtil {
+
+    private static final String SHA_256 = "SHA-256";
+
+    private HashUtil() {
+    }
+
+    /**
+     * Computes the hex encoded SHA-256 digest of the given text.
+     *
+     * @param text The text to hash.
+     * @return The lowercase hex digest.
+     */
+    public static String sha256Hex(String text) {
+        return sha256Hex(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Computes the hex encoded SHA-256 digest of the given bytes.
+     *
+     * @param data The bytes to hash.
+     * @return The lowercase hex digest.
+     */
+    public static String sha256Hex(byte[] data) {
+        return HexFormat.of().formatHex(newSha256Digest().digest(data));
+    }
+
+    /**
+     * Creates a new SHA-256 MessageDigest instance.
+     *
+     * @return A SHA-256 MessageDigest.
+     */
+    public static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance(SHA_256);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.Orio.gbp_tool.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class ScoreUtil {
+
+    public static final double MIN_SCORE = 0.0;
+    public static final double MAX_SCORE = 100.0;
+
+    // Matches the score of a response that is truncated or not valid JSON, or a bare number
+    private static final Pattern SCORE_FIELD_PATTERN = Pattern.compile("\"score\"\\s*:\\s*\"?(-?\\d+(?:\\.\\d+)?)");
+    private static final Pattern BARE_NUMBER_PATTERN = Pattern.compile("^\\s*\"?(-?\\d+(?:\\.\\d+)?)\"?\\s*$");
+
+    private ScoreUtil() {
+    }
+
+    /**
+     * Reads the score from a model response that may be cut off by the stop
+     * sequence or the token limit, or that is just a number. A score outside
+     * the score range is a misread response rather than a score, so it is
+     * rejected instead of clamped.
+     *
+     * @param content The response content.
+     * @return The score, or null if the content holds no score within range.
+     */
+    public static Double parseScore(String content) {
+        if (content == null) {
+            return null;
+        }
+        Matcher matcher = SCORE_FIELD_PATTERN.matcher(content);
+        if (!matcher.find()) {
+            matcher = BARE_NUMBER_PATTERN.matcher(content);
+            if (!matcher.find()) {
+                return null;
+            }
+        }
+        Double score = Double.valueOf(matcher.group(1));
+        return isInRange(score) ? score : null;
+    }
+
+    /**
+     * Checks that a score lies within the score range.
+     *
+     * @param score The score, may be null.
+     * @return Whether the score is present and within range.
+     */
+    public static boolean isInRange(Double score) {
+        return score != null && score >= MIN_SCORE && score <= MAX_SCORE;
+    }
+}
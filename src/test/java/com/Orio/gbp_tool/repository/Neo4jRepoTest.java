@@ -1,11 +1,16 @@
 package com.Orio.gbp_tool.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,8 +27,12 @@ import com.Orio.gbp_tool.exception.ConceptNotRemovedException;
 import com.Orio.gbp_tool.exception.TextAlreadyInTheDatabaseException;
 import com.Orio.gbp_tool.model.Concept;
 import com.Orio.gbp_tool.model.PDFText;
+import com.Orio.gbp_tool.model.ScoreProvenance;
 import com.Orio.gbp_tool.model.SimilarityScore;
+import com.Orio.gbp_tool.repository.impl.graph.Neo4jAsyncRepo;
 import com.Orio.gbp_tool.repository.impl.graph.Neo4jRepo;
+import com.Orio.gbp_tool.repository.impl.graph.Neo4jSchemaInitializer;
+import com.Orio.gbp_tool.util.HashUtil;
 
 @SpringBootTest
 public class Neo4jRepoTest {
@@ -31,6 +40,12 @@ public class Neo4jRepoTest {
     @Autowired
     private Neo4jRepo neo4jRepo;
 
+    @Autowired
+    private Neo4jAsyncRepo neo4jAsyncRepo;
+
+    @Autowired
+    private Neo4jSchemaInitializer schemaInitializer;
+
     @Autowired
     private Driver driver;
 
@@ -96,6 +111,7 @@ public class Neo4jRepoTest {
     private void cleanDatabase() {
         try (Session session = driver.session()) {
             executeQuery(String.format(VectorRepoConstants.QUERY_DELETE_TEST_LABEL, VectorRepoConstants.TEST_LABEL));
+            executeQuery(String.format(VectorRepoConstants.QUERY_DELETE_TEST_LABEL, VectorRepoConstants.OTHER_LABEL));
             executeQuery(VectorRepoConstants.QUERY_DELETE_CONCEPT, "concept", VectorRepoConstants.TEST_CONCEPT);
             executeQuery(VectorRepoConstants.QUERY_DELETE_CONTAINING_NAME, "name", "Test");
             executeQuery(VectorRepoConstants.QUERY_DELETE_CONTAINING_NAME, "name", "TestSource");
@@ -105,7 +121,7 @@ public class Neo4jRepoTest {
     @BeforeEach
     public void setUp() {
         tearDown(); // Ensure a clean state before each test
-        nodeCount = executeCountQuery(VectorRepoConstants.QUERY_COUNT_ALL);
+        nodeCount = executeCountQuery(VectorRepoConstants.QUERY_COUNT_TEXT_NODES);
     }
 
     @AfterEach
@@ -123,7 +139,7 @@ public class Neo4jRepoTest {
 
         neo4jRepo.save(texts, VectorRepoConstants.TEST_LABEL);
 
-        assertEquals(nodeCount + texts.size(), executeCountQuery(VectorRepoConstants.QUERY_COUNT_ALL));
+        assertEquals(nodeCount + texts.size(), executeCountQuery(VectorRepoConstants.QUERY_COUNT_TEXT_NODES));
     }
 
     @Test
@@ -133,7 +149,28 @@ public class Neo4jRepoTest {
         assertThrows(InvalidDataAccessApiUsageException.class,
                 () -> neo4jRepo.save(texts, VectorRepoConstants.TEST_LABEL));
 
-        assertEquals(nodeCount, executeCountQuery(VectorRepoConstants.QUERY_COUNT_ALL));
+        assertEquals(nodeCount, executeCountQuery(VectorRepoConstants.QUERY_COUNT_TEXT_NODES));
+    }
+
+    @Test
+    public void testSave_resumesIncompleteText() throws TextAlreadyInTheDatabaseException {
+        // Scores link their pages to the text without completing it, like a save interrupted after a batch
+        neo4jRepo.addConcept(Arrays.asList(new SimilarityScore(new PDFText(VectorRepoConstants.CONTENT_1,
+                VectorRepoConstants.TEST_LABEL, VectorRepoConstants.SOURCE_1), VectorRepoConstants.TEST_CONCEPT, 0.9)),
+                VectorRepoConstants.TEST_CONCEPT);
+        assertFalse(neo4jRepo.existsTextWithLabel(VectorRepoConstants.TEST_LABEL));
+
+        List<PDFText> texts = Arrays.asList(
+                new PDFText(VectorRepoConstants.CONTENT_1, VectorRepoConstants.SOME_SOURCE,
+                        VectorRepoConstants.SOURCE_1),
+                new PDFText(VectorRepoConstants.CONTENT_2, VectorRepoConstants.SOME_SOURCE,
+                        VectorRepoConstants.SOURCE_2));
+        neo4jRepo.save(texts, VectorRepoConstants.TEST_LABEL);
+
+        assertEquals(nodeCount + texts.size(), executeCountQuery(VectorRepoConstants.QUERY_COUNT_TEXT_NODES));
+        assertTrue(neo4jRepo.existsTextWithLabel(VectorRepoConstants.TEST_LABEL));
+        assertThrows(TextAlreadyInTheDatabaseException.class,
+                () -> neo4jRepo.save(texts, VectorRepoConstants.TEST_LABEL));
     }
 
     @Test
@@ -147,22 +184,53 @@ public class Neo4jRepoTest {
 
         // When
         neo4jRepo.save(texts, VectorRepoConstants.TEST_LABEL);
-        int countAfterSave = executeCountQuery(VectorRepoConstants.QUERY_COUNT_ALL);
+        int countAfterSave = executeCountQuery(VectorRepoConstants.QUERY_COUNT_TEXT_NODES);
 
         neo4jRepo.removeText(VectorRepoConstants.TEST_LABEL);
-        int countAfterRemove = executeCountQuery(VectorRepoConstants.QUERY_COUNT_ALL);
+        int countAfterRemove = executeCountQuery(VectorRepoConstants.QUERY_COUNT_TEXT_NODES);
 
         // Then
         assertEquals(nodeCount + texts.size(), countAfterSave, "Should add 2 nodes");
         assertEquals(nodeCount, countAfterRemove, "Should remove all added nodes");
     }
 
+    @Test
+    public void testRemoveText_keepsPagesSharedWithOtherText() throws TextAlreadyInTheDatabaseException {
+        PDFText shared = new PDFText(VectorRepoConstants.CONTENT_1, VectorRepoConstants.SOME_SOURCE,
+                VectorRepoConstants.SOURCE_1);
+        neo4jRepo.save(Arrays.asList(shared, new PDFText(VectorRepoConstants.CONTENT_2,
+                VectorRepoConstants.SOME_SOURCE, VectorRepoConstants.SOURCE_2)), VectorRepoConstants.TEST_LABEL);
+        neo4jRepo.save(Arrays.asList(shared), VectorRepoConstants.OTHER_LABEL);
+
+        neo4jRepo.removeText(VectorRepoConstants.TEST_LABEL);
+
+        assertEquals(nodeCount + 1, executeCountQuery(VectorRepoConstants.QUERY_COUNT_TEXT_NODES),
+                "The page shared with the other text should be kept");
+        assertTrue(neo4jRepo.existsTextWithLabel(VectorRepoConstants.OTHER_LABEL));
+        assertFalse(neo4jRepo.existsTextWithLabel(VectorRepoConstants.TEST_LABEL));
+    }
+
+    @Test
+    public void testInitializeSchema_movesTitleLabeledPages() {
+        // Pages used to be stored under a label named after their text
+        executeQuery(String.format(VectorRepoConstants.QUERY_CREATE_TITLE_LABELED, VectorRepoConstants.TEST_LABEL),
+                "content", VectorRepoConstants.CONTENT_1);
+
+        schemaInitializer.initializeSchema();
+
+        assertTrue(neo4jRepo.existsTextWithLabel(VectorRepoConstants.TEST_LABEL));
+        assertEquals(nodeCount + 1, executeCountQuery(VectorRepoConstants.QUERY_COUNT_TEXT_NODES));
+        assertEquals(0, executeCountQuery(
+                String.format(VectorRepoConstants.QUERY_COUNT_TITLE_LABELED, VectorRepoConstants.TEST_LABEL)),
+                "The title labeled page should be replaced by its text node");
+    }
+
     @Test
     public void testRemoveText_withNonExistentLabel() {
         assertThrows(RuntimeException.class, () -> neo4jRepo.removeText(VectorRepoConstants.NON_EXISTENT_LABEL),
                 "Should throw RuntimeException when label doesn't exist");
 
-        assertEquals(nodeCount, executeCountQuery(VectorRepoConstants.QUERY_COUNT_ALL),
+        assertEquals(nodeCount, executeCountQuery(VectorRepoConstants.QUERY_COUNT_TEXT_NODES),
                 "Node count should remain unchanged");
     }
 
@@ -178,6 +246,51 @@ public class Neo4jRepoTest {
         assertEquals(Arrays.asList(VectorRepoConstants.TEST_CONCEPT_1, VectorRepoConstants.TEST_CONCEPT_2), concepts);
     }
 
+    @Test
+    public void testGetConceptsAsync_matchesBlockingRead() throws Exception {
+        List<SimilarityScore> scores = Arrays.asList(
+                new SimilarityScore(new PDFText("Content1", "TestSource", VectorRepoConstants.CONCEPT),
+                        VectorRepoConstants.TEST_CONCEPT, 0.9));
+        neo4jRepo.addConcept(scores, VectorRepoConstants.TEST_CONCEPT);
+
+        List<Concept> expected = neo4jRepo.getConcepts();
+        List<Concept> concepts = neo4jAsyncRepo.getConcepts().toCompletableFuture().get();
+        List<Concept> streamed = new ArrayList<>();
+        long count = neo4jAsyncRepo.streamConcepts(streamed::add).toCompletableFuture().get();
+
+        assertEquals(expected, concepts);
+        assertEquals(expected, streamed);
+        assertEquals(expected.size(), count);
+    }
+
+    @Test
+    public void testGetScores_ignoresPreFilterScores() {
+        ScoreProvenance provenance = new ScoreProvenance("test-model", Set.of("test-v1"));
+        SimilarityScore full = new SimilarityScore(new PDFText(VectorRepoConstants.CONTENT_1, "TestSource",
+                VectorRepoConstants.CONCEPT), VectorRepoConstants.TEST_CONCEPT, 80.0);
+        full.setModel(provenance.getModel());
+        full.setPromptVersion("test-v1");
+        SimilarityScore approximate = new SimilarityScore(new PDFText(VectorRepoConstants.CONTENT_2, "TestSource",
+                VectorRepoConstants.CONCEPT), VectorRepoConstants.TEST_CONCEPT, 15.0);
+        approximate.setApproximate(true);
+        neo4jRepo.addConcept(Arrays.asList(full, approximate), VectorRepoConstants.TEST_CONCEPT);
+
+        // A later pre-filtered run must not replace the full score either
+        SimilarityScore overwrite = new SimilarityScore(full.getText(), VectorRepoConstants.TEST_CONCEPT, 10.0);
+        overwrite.setApproximate(true);
+        neo4jRepo.addConcept(Arrays.asList(overwrite), VectorRepoConstants.TEST_CONCEPT);
+
+        String fullHash = HashUtil.sha256Hex(VectorRepoConstants.CONTENT_1);
+        Map<String, Map<String, Double>> scores = neo4jRepo.getScores(List.of(VectorRepoConstants.TEST_CONCEPT),
+                List.of(fullHash, HashUtil.sha256Hex(VectorRepoConstants.CONTENT_2)), provenance);
+
+        assertEquals(Map.of(VectorRepoConstants.TEST_CONCEPT, Map.of(fullHash, 80.0)), scores,
+                "Only the full score should be reused");
+        assertTrue(neo4jRepo.getScores(List.of(VectorRepoConstants.TEST_CONCEPT), List.of(fullHash),
+                new ScoreProvenance("other-model", Set.of("test-v1"))).isEmpty(),
+                "Scores of another model should not be reused");
+    }
+
     @Test
     public void testAddConcept_withValidData() throws Exception {
         List<SimilarityScore> scores = Arrays.asList(
@@ -225,4 +338,17 @@ public class Neo4jRepoTest {
                 executeCountQuery(VectorRepoConstants.QUERY_COUNT_SPECIFIC_CONCEPT, "concept",
                         VectorRepoConstants.NON_EXISTENT_CONCEPT));
     }
+
+    @Test
+    public void testRemoveConcepts_removesOnlyExistingConcepts() throws Exception {
+        int initialCount = executeCountQuery(VectorRepoConstants.QUERY_COUNT_CONCEPTS);
+        executeQuery(String.format(VectorRepoConstants.QUERY_CREATE_CONCEPT, VectorRepoConstants.TEST_CONCEPT_1));
+        executeQuery(String.format(VectorRepoConstants.QUERY_CREATE_CONCEPT, VectorRepoConstants.TEST_CONCEPT_2));
+
+        int removed = neo4jRepo.removeConcepts(Arrays.asList(VectorRepoConstants.TEST_CONCEPT_1,
+                VectorRepoConstants.TEST_CONCEPT_2, VectorRepoConstants.NON_EXISTENT_CONCEPT));
+
+        assertEquals(2, removed);
+        assertEquals(initialCount, executeCountQuery(VectorRepoConstants.QUERY_COUNT_CONCEPTS));
+    }
 }
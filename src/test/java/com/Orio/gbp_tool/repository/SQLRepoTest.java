@@ -1,12 +1,21 @@
 package com.Orio.gbp_tool.repository;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -21,6 +30,9 @@ import com.Orio.gbp_tool.exception.ChartNotFoundException;
 import com.Orio.gbp_tool.exception.FileAlreadyInTheDatabaseException;
 import com.Orio.gbp_tool.exception.FileDataReadingException;
 import com.Orio.gbp_tool.model.ChartData;
+import com.Orio.gbp_tool.model.ChartSeries;
+import com.Orio.gbp_tool.model.PDFText;
+import com.Orio.gbp_tool.model.PageScore;
 import com.Orio.gbp_tool.repository.impl.sql.ChartRepo;
 
 @SpringBootTest
@@ -36,6 +48,7 @@ public class SQLRepoTest {
 
     // Constants
     private static final String TEST_FILE_TITLE = "Test Title";
+    private static final String OTHER_FILE_TITLE = "Other Test Title";
     private static final String TEST_CHART_LABEL = "Test Chart";
     private static final String PDF_MIME_TYPE = "application/pdf";
     private static final String TEXT_MIME_TYPE = "text/plain";
@@ -44,11 +57,17 @@ public class SQLRepoTest {
     private static final String TEST_FILE_CONTENT = "test content";
     private static final String IO_EXCEPTION_MESSAGE = "IO Exception";
     private static final String NON_EXISTING_CHART_LABEL = "Non Existing Chart";
+    private static final String FIRST_CONCEPT = "First Concept";
+    private static final String SECOND_CONCEPT = "Second Concept";
+    private static final String TEST_PAGE_TEXT = "This page text is long enough to pass the minimum length check of the "
+            + "text processor, so that it is stored in the page table when the file is uploaded and can be read "
+            + "back without parsing the PDF again.";
 
     @AfterEach
     public void tearDown() {
         logger.info("Cleaning up after test");
         removeFileQuietly(TEST_FILE_TITLE);
+        removeFileQuietly(OTHER_FILE_TITLE);
         removeChartQuietly(TEST_CHART_LABEL);
     }
 
@@ -98,6 +117,26 @@ public class SQLRepoTest {
         sqlRepo.saveChart(chartData);
     }
 
+    private byte[] createPdfWithText(String text) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                contentStream.beginText();
+                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10f);
+                contentStream.newLineAtOffset(25f, 750f);
+                contentStream.showText(text);
+                contentStream.endText();
+            }
+
+            try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                document.save(out);
+                return out.toByteArray();
+            }
+        }
+    }
+
     private boolean isChartExists(String label) {
         List<ChartData> charts = chartRepo.findAll();
         return charts.stream().anyMatch(chart -> chart.getLabel().equals(label));
@@ -110,16 +149,42 @@ public class SQLRepoTest {
             throws IOException, FileDataReadingException, FileAlreadyInTheDatabaseException, Exception {
         MultipartFile file = createMockFile("file", TEST_PDF_NAME, PDF_MIME_TYPE, TEST_FILE_CONTENT.getBytes());
 
-        int initialSize = sqlRepo.getTexts().size();
+        int initialSize = sqlRepo.getTitles().size();
 
         sqlRepo.saveFile(file, TEST_FILE_TITLE);
 
-        int currentSize = sqlRepo.getTexts().size();
+        int currentSize = sqlRepo.getTitles().size();
 
         assertTrue(currentSize > initialSize, "File should be saved, increasing the text size");
         logger.info("testSaveFile_withValidPDF passed");
     }
 
+    @Test
+    public void testGetPages_readsPagesStoredAtUpload() throws Exception {
+        MultipartFile file = createMockFile("file", TEST_PDF_NAME, PDF_MIME_TYPE, createPdfWithText(TEST_PAGE_TEXT));
+
+        sqlRepo.saveFile(file, TEST_FILE_TITLE);
+        List<PDFText> pages = sqlRepo.getPages(TEST_FILE_TITLE);
+
+        assertEquals(1, pages.size(), "The single page should be stored at upload");
+        assertEquals(1, pages.get(0).getPage().intValue(), "The page number should be kept");
+        assertTrue(pages.get(0).getText().contains("minimum length check"), "The page text should be stored");
+        logger.info("testGetPages_readsPagesStoredAtUpload passed");
+    }
+
+    @Test
+    public void testSaveFile_withSameContentUnderOtherTitle() throws Exception {
+        sqlRepo.saveFile(createMockFile("file", TEST_PDF_NAME, PDF_MIME_TYPE, TEST_FILE_CONTENT.getBytes()),
+                TEST_FILE_TITLE);
+        MultipartFile copy = createMockFile("file", TEST_PDF_NAME, PDF_MIME_TYPE, TEST_FILE_CONTENT.getBytes());
+
+        assertThrows(FileAlreadyInTheDatabaseException.class, () -> {
+            sqlRepo.saveFile(copy, OTHER_FILE_TITLE);
+        }, "Saving the same content under another title should throw FileAlreadyInTheDatabaseException");
+
+        logger.info("testSaveFile_withSameContentUnderOtherTitle passed");
+    }
+
     @Test
     public void testSaveFile_withNullFile() {
         MultipartFile file = null;
@@ -164,6 +229,57 @@ public class SQLRepoTest {
         logger.info("testSaveChart passed");
     }
 
+    @Test
+    public void testGetChartSeries_returnsOnlyRequestedSeries() throws Exception {
+        Map<String, List<PageScore>> data = new LinkedHashMap<>();
+        data.put(FIRST_CONCEPT, List.of(new PageScore(1L, TEST_FILE_TITLE + 1, 10f),
+                new PageScore(2L, TEST_FILE_TITLE + 2, 20f)));
+        data.put(SECOND_CONCEPT, List.of(new PageScore(1L, TEST_FILE_TITLE + 1, 30f)));
+        ChartData chartData = createChartData(TEST_CHART_LABEL);
+        chartData.setData(data);
+        sqlRepo.saveChart(chartData);
+
+        ChartSeries series = sqlRepo.getChartSeries(TEST_CHART_LABEL, FIRST_CONCEPT);
+        ChartData chart = sqlRepo.getChart(TEST_CHART_LABEL);
+
+        assertEquals(2, series.getPoints().size(), "The series should hold one point per page");
+        assertEquals(20f, series.getPoints().get(1).getScore(), "Points should keep their order and score");
+        assertEquals(List.of(FIRST_CONCEPT, SECOND_CONCEPT), List.copyOf(chart.getData().keySet()),
+                "The whole chart should be assembled from its series");
+        assertThrows(ChartNotFoundException.class, () -> {
+            sqlRepo.getChartSeries(TEST_CHART_LABEL, "Missing Concept");
+        }, "Requesting a missing series should throw ChartNotFoundException");
+        logger.info("testGetChartSeries_returnsOnlyRequestedSeries passed");
+    }
+
+    @Test
+    public void testChartPatches_changeOnlyTheDelta() throws Exception {
+        Map<String, List<PageScore>> data = new LinkedHashMap<>();
+        data.put(FIRST_CONCEPT, List.of(new PageScore(1L, TEST_FILE_TITLE + 1, 10f),
+                new PageScore(2L, TEST_FILE_TITLE + 2, 20f)));
+        ChartData chartData = createChartData(TEST_CHART_LABEL);
+        chartData.setData(data);
+        sqlRepo.saveChart(chartData);
+
+        sqlRepo.addChartSeries(TEST_CHART_LABEL, Map.of(SECOND_CONCEPT,
+                List.of(new PageScore(1L, TEST_FILE_TITLE + 1, 30f), new PageScore(2L, TEST_FILE_TITLE + 2, 40f))));
+        sqlRepo.addChartPoints(TEST_CHART_LABEL, Map.of(FIRST_CONCEPT,
+                List.of(new PageScore(3L, TEST_FILE_TITLE + 3, 50f))));
+        long removedPoints = sqlRepo.removeChartPoints(TEST_CHART_LABEL, List.of(1L));
+        ChartData chart = sqlRepo.getChart(TEST_CHART_LABEL);
+
+        assertEquals(List.of(FIRST_CONCEPT, SECOND_CONCEPT), sqlRepo.getChartConcepts(TEST_CHART_LABEL),
+                "Added series should follow the existing ones");
+        assertEquals(2, removedPoints, "The page should be removed from every series");
+        assertEquals(List.of(2L, 3L), chart.getData().get(FIRST_CONCEPT).stream().map(PageScore::getPageId).toList(),
+                "Added points should follow the remaining ones");
+
+        assertEquals(1, sqlRepo.removeChartSeries(TEST_CHART_LABEL, List.of(SECOND_CONCEPT)));
+        assertEquals(List.of(FIRST_CONCEPT), sqlRepo.getChartConcepts(TEST_CHART_LABEL),
+                "Only the requested series should be removed");
+        logger.info("testChartPatches_changeOnlyTheDelta passed");
+    }
+
     @Test
     public void testRemoveChart_withExistingLabel() throws Exception {
         saveChartData(TEST_CHART_LABEL);
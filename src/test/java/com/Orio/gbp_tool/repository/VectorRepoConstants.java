@@ -14,6 +14,7 @@ public class VectorRepoConstants {
     public static final String SOME_SOURCE = "Some source";
     public static final String SOURCE_1 = "source1";
     public static final String SOURCE_2 = "source2";
+    public static final String OTHER_LABEL = "TestLabelOther";
 
     // Concept Constants
     public static final String TEST_CONCEPT_1 = "TestConcept1";
@@ -27,9 +28,13 @@ public class VectorRepoConstants {
     // Query Constants
     public static final String QUERY_COUNT_ALL = "MATCH (n) RETURN count(n) AS count";
     public static final String QUERY_COUNT_CONCEPTS = "MATCH (c:Concept) RETURN count(c) AS count";
-    public static final String QUERY_DELETE_TEST_LABEL = "MATCH (n:%s) DELETE n";
+    public static final String QUERY_COUNT_TEXT_NODES = "MATCH (n:TextNode) RETURN count(n) AS count";
+    public static final String QUERY_DELETE_TEST_LABEL = "MATCH (s:Source {name: '%s'}) "
+            + "OPTIONAL MATCH (s)-[:CONTAINS]->(n:TextNode) DETACH DELETE s, n";
     public static final String QUERY_DELETE_CONCEPT = "MATCH (c:Concept {name: $concept}) DETACH DELETE c";
     public static final String QUERY_DELETE_CONTAINING_NAME = "MATCH (n) WHERE n.name CONTAINS $name DETACH DELETE n";
     public static final String QUERY_CREATE_CONCEPT = "CREATE (:Concept {name: '%s'})";
+    public static final String QUERY_CREATE_TITLE_LABELED = "CREATE (:%s {content: $content, name: 'Test page'})";
+    public static final String QUERY_COUNT_TITLE_LABELED = "MATCH (n:%s) WHERE NOT n:TextNode RETURN count(n) AS count";
     public static final String QUERY_COUNT_SPECIFIC_CONCEPT = "MATCH (c:Concept {name: $concept}) RETURN count(c) AS count";
 }
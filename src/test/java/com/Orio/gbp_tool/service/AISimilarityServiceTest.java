@@ -2,22 +2,37 @@ package com.Orio.gbp_tool.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.ai.ollama.api.OllamaApi;
+import org.springframework.ai.ollama.api.OllamaApi.ChatRequest;
+import org.springframework.ai.ollama.api.OllamaApi.ChatResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 // Consider importing only necessary annotations if possible
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 
 import com.Orio.gbp_tool.model.PDFText;
+import com.Orio.gbp_tool.model.ScoringOptions;
+import com.Orio.gbp_tool.model.ScoringResult;
 import com.Orio.gbp_tool.model.SimilarityScore;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
-@SpringBootTest
+// The cache is disabled so every text reaches the stubbed backend
+@SpringBootTest(properties = "scoring.cache.enabled=false")
 public class AISimilarityServiceTest {
 
     private static final Logger logger = LoggerFactory.getLogger(AISimilarityServiceTest.class);
@@ -25,14 +40,45 @@ public class AISimilarityServiceTest {
     @Autowired
     private IAISimilarityService aISimilarityService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private IOllamaEndpointPool endpointPool;
+
     // Constants
     private static final String SAMPLE_TEXT_CONTENT_1 = "Sample text 1";
     private static final String SAMPLE_TEXT_CONTENT_2 = "Sample text 2";
+    private static final String SAMPLE_TEXT_CONTENT_3 = "Sample text 3";
+    private static final String FAILING_TEXT_CONTENT = "Failing text";
+    private static final String UNSCORED_TEXT_CONTENT = "Unscored text";
     private static final String SAMPLE_SOURCE = "Some source";
     private static final String LABEL_1 = "label1";
     private static final String LABEL_2 = "label2";
+    private static final String LABEL_3 = "label3";
     private static final String SAMPLE_CONCEPT = "Sample concept";
+    private static final String OTHER_CONCEPT = "Other concept";
     private static final int EXPECTED_SCORE_SIZE_VALID = 2;
+    // The stub answers each text with its own score, and the first text last
+    private static final Map<String, Double> STUB_SCORES = Map.of(SAMPLE_TEXT_CONTENT_1, 10.0,
+            SAMPLE_TEXT_CONTENT_2, 20.0, SAMPLE_TEXT_CONTENT_3, 30.0);
+    private static final long SLOW_RESPONSE_MILLIS = 200;
+    private static final String BATCH_RESPONSE_TEMPLATE = "{\"scores\": {\"%s\": 50, \"%s\": 50}}";
+    private static final String SCORE_RESPONSE_TEMPLATE = "{\"score\": %s}";
+    private static final String ANALYSIS_ONLY_RESPONSE = "{\"analysis\": \"The text matches the concept\"}";
+    private static final String MESSAGE_FIELD = "message";
+    private static final String DONE_FIELD = "done";
+    private static final String ROLE_FIELD = "role";
+    private static final String CONTENT_FIELD = "content";
+    private static final String ASSISTANT_ROLE = "assistant";
+
+    @BeforeEach
+    public void setUp() {
+        OllamaApi api = mock(OllamaApi.class);
+        when(api.chat(any())).thenAnswer(invocation -> respond(invocation.getArgument(0)));
+        when(endpointPool.execute(anyString(), any())).thenAnswer(
+                invocation -> invocation.<Function<OllamaApi, Object>>getArgument(1).apply(api));
+    }
 
     @Test
     public void testCalculateScores_withValidInputs() {
@@ -46,6 +92,74 @@ public class AISimilarityServiceTest {
         logger.info("testCalculateScores_withValidInputs passed");
     }
 
+    @Test
+    public void testScoreTexts_preservesInputOrder() {
+        List<PDFText> texts = createPDFTexts(
+                createPDFText(SAMPLE_TEXT_CONTENT_1, SAMPLE_SOURCE, LABEL_1),
+                createPDFText(SAMPLE_TEXT_CONTENT_2, SAMPLE_SOURCE, LABEL_2));
+
+        ScoringResult result = aISimilarityService.scoreTexts(texts, SAMPLE_CONCEPT);
+
+        assertEquals(0, result.getFailures().size());
+        assertEquals(EXPECTED_SCORE_SIZE_VALID, result.getScores().size());
+        assertEquals(LABEL_1, result.getScores().get(0).getText().getLabel(), "First score should match first text");
+        assertEquals(10.0, result.getScores().get(0).getScore(), "First score should be the first text's score");
+        assertEquals(LABEL_2, result.getScores().get(1).getText().getLabel(), "Second score should match second text");
+        assertEquals(20.0, result.getScores().get(1).getScore(), "Second score should be the second text's score");
+        logger.info("testScoreTexts_preservesInputOrder passed");
+    }
+
+    @Test
+    public void testScoreTexts_preservesInputOrderAroundFailure() {
+        List<PDFText> texts = createPDFTexts(
+                createPDFText(SAMPLE_TEXT_CONTENT_1, SAMPLE_SOURCE, LABEL_1),
+                createPDFText(FAILING_TEXT_CONTENT, SAMPLE_SOURCE, LABEL_2),
+                createPDFText(SAMPLE_TEXT_CONTENT_3, SAMPLE_SOURCE, LABEL_3));
+
+        ScoringResult result = aISimilarityService.scoreTexts(texts, SAMPLE_CONCEPT);
+
+        assertEquals(1, result.getFailures().size(), "The failing text should be reported as a failure");
+        assertEquals(LABEL_2, result.getFailures().get(0).getText().getLabel());
+        assertEquals(2, result.getScores().size());
+        assertEquals(LABEL_1, result.getScores().get(0).getText().getLabel(), "Scores should skip the failed text");
+        assertEquals(10.0, result.getScores().get(0).getScore());
+        assertEquals(LABEL_3, result.getScores().get(1).getText().getLabel(), "Scores should skip the failed text");
+        assertEquals(30.0, result.getScores().get(1).getScore());
+        logger.info("testScoreTexts_preservesInputOrderAroundFailure passed");
+    }
+
+    @Test
+    public void testScoreTexts_rejectsAnalysisWithoutScore() {
+        List<PDFText> texts = createPDFTexts(
+                createPDFText(SAMPLE_TEXT_CONTENT_1, SAMPLE_SOURCE, LABEL_1),
+                createPDFText(UNSCORED_TEXT_CONTENT, SAMPLE_SOURCE, LABEL_2));
+
+        ScoringResult result = aISimilarityService.scoreTexts(texts, SAMPLE_CONCEPT,
+                ScoringOptions.builder().includeAnalysis(true).build());
+
+        assertEquals(1, result.getFailures().size(), "A response without a score should be a failure, not a 0");
+        assertEquals(LABEL_2, result.getFailures().get(0).getText().getLabel());
+        assertEquals(1, result.getScores().size());
+        assertEquals(10.0, result.getScores().get(0).getScore());
+        logger.info("testScoreTexts_rejectsAnalysisWithoutScore passed");
+    }
+
+    @Test
+    public void testScoreConcepts_returnsResultPerConcept() {
+        List<PDFText> texts = createPDFTexts(
+                createPDFText(SAMPLE_TEXT_CONTENT_1, SAMPLE_SOURCE, LABEL_1),
+                createPDFText(SAMPLE_TEXT_CONTENT_2, SAMPLE_SOURCE, LABEL_2));
+
+        Map<String, ScoringResult> results = aISimilarityService.scoreConcepts(texts,
+                Arrays.asList(SAMPLE_CONCEPT, OTHER_CONCEPT));
+
+        assertEquals(2, results.size(), "There should be one result per concept");
+        results.values().forEach(result -> assertEquals(EXPECTED_SCORE_SIZE_VALID,
+                result.getScores().size() + result.getFailures().size(),
+                "Every text should be scored or reported as a failure for each concept"));
+        logger.info("testScoreConcepts_returnsResultPerConcept passed");
+    }
+
     @Test
     public void testCalculateScores_withNullTexts() {
         String concept = SAMPLE_CONCEPT;
@@ -82,6 +196,35 @@ public class AISimilarityServiceTest {
 
     // Private helper methods
 
+    /**
+     * Answers a chat request like the model would. The first text is answered
+     * slowly so that responses complete out of input order, and the failing
+     * text fails.
+     *
+     * @param request The chat request.
+     * @return The chat response.
+     * @throws InterruptedException If interrupted while delaying the response.
+     */
+    private ChatResponse respond(ChatRequest request) throws InterruptedException {
+        String prompt = request.messages().get(request.messages().size() - 1).content();
+        String content;
+        if (prompt.contains(FAILING_TEXT_CONTENT)) {
+            throw new IllegalStateException("Backend error");
+        } else if (prompt.contains(UNSCORED_TEXT_CONTENT)) {
+            content = ANALYSIS_ONLY_RESPONSE;
+        } else if (prompt.contains("Concepts:")) {
+            content = String.format(BATCH_RESPONSE_TEMPLATE, SAMPLE_CONCEPT, OTHER_CONCEPT);
+        } else {
+            if (prompt.contains(SAMPLE_TEXT_CONTENT_1)) {
+                Thread.sleep(SLOW_RESPONSE_MILLIS);
+            }
+            String text = STUB_SCORES.keySet().stream().filter(prompt::contains).findFirst().orElseThrow();
+            content = String.format(SCORE_RESPONSE_TEMPLATE, STUB_SCORES.get(text));
+        }
+        Map<String, Object> message = Map.of(ROLE_FIELD, ASSISTANT_ROLE, CONTENT_FIELD, content);
+        return objectMapper.convertValue(Map.of(MESSAGE_FIELD, message, DONE_FIELD, true), ChatResponse.class);
+    }
+
     /**
      * Creates a PDFText instance with the given parameters.
      *
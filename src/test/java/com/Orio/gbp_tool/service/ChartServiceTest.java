@@ -1,11 +1,25 @@
 package com.Orio.gbp_tool.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -15,11 +29,26 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.Orio.gbp_tool.config.properties.ScoringProperties;
+import com.Orio.gbp_tool.exception.ChartNotFoundException;
 import com.Orio.gbp_tool.exception.FileAlreadyInTheDatabaseException;
 import com.Orio.gbp_tool.exception.FileDataReadingException;
 import com.Orio.gbp_tool.exception.NoPdfFoundException;
+import com.Orio.gbp_tool.model.ChartData;
 import com.Orio.gbp_tool.model.ChartDataResult;
+import com.Orio.gbp_tool.model.JobScore;
+import com.Orio.gbp_tool.model.PDFText;
+import com.Orio.gbp_tool.model.PageScore;
+import com.Orio.gbp_tool.model.ScoreProvenance;
+import com.Orio.gbp_tool.model.ScoringOptions;
+import com.Orio.gbp_tool.model.ScoringResult;
+import com.Orio.gbp_tool.model.SimilarityScore;
+import com.Orio.gbp_tool.model.TextSearchResult;
+import com.Orio.gbp_tool.repository.IGraphDatabaseRepo;
 import com.Orio.gbp_tool.repository.ISQLRepo;
+import com.Orio.gbp_tool.repository.impl.sql.ChartRepo;
+import com.Orio.gbp_tool.service.impl.BasicChartService;
+import com.Orio.gbp_tool.util.HashUtil;
 
 @SpringBootTest
 public class ChartServiceTest {
@@ -32,12 +61,21 @@ public class ChartServiceTest {
     @Autowired
     private ISQLRepo sqlRepo;
 
+    @Autowired
+    private ChartRepo chartRepo;
+
     // Constants
     private static final String TEST_FILE_TITLE = "test_file";
     private static final String SAMPLE_PDF_NAME = "sample.pdf";
     private static final String PDF_MIME_TYPE = "application/pdf";
     private static final String CHART_LABEL = "Test Chart";
+    private static final String LEGACY_CHART_LABEL = "Test Legacy Chart";
+    private static final String LEGACY_CONCEPT = "concept1";
     private static final String NON_EXISTING_PDF_NAME = "notfound.pdf";
+    private static final String STUB_SOURCE = "Stub source";
+    private static final int STUB_PAGE_COUNT = 4;
+    private static final ScoreProvenance STUB_PROVENANCE = new ScoreProvenance("stub-model", Set.of("stub-v1"));
+    private static final double STORED_SCORE = 42.0;
 
     private static final byte[] VALID_PDF_CONTENT = ("%PDF-1.4\n" +
             "1 0 obj\n" +
@@ -74,6 +112,7 @@ public class ChartServiceTest {
     @AfterEach
     public void tearDown() {
         removeFileQuietly(TEST_FILE_TITLE);
+        removeChartQuietly(LEGACY_CHART_LABEL);
     }
 
     // Private Helper Methods
@@ -120,6 +159,37 @@ public class ChartServiceTest {
         }
     }
 
+    /**
+     * Removes a chart from the repository quietly, logging the outcome.
+     *
+     * @param label The label of the chart to remove.
+     */
+    private void removeChartQuietly(String label) {
+        try {
+            sqlRepo.removeChart(label);
+            logger.info("Chart '{}' removed successfully.", label);
+        } catch (ChartNotFoundException e) {
+            logger.info("Chart not found during teardown: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Saves a chart the way charts were stored before series were normalized,
+     * with one score per page and no page ids.
+     *
+     * @param pages The pages of the chart.
+     */
+    private void saveLegacyChart(List<PDFText> pages) {
+        List<SimilarityScore> scores = pages.stream()
+                .map(page -> new SimilarityScore(new PDFText(page.getText(), page.getSource(), page.getLabel()),
+                        LEGACY_CONCEPT, STORED_SCORE))
+                .toList();
+        ChartData chart = new ChartData();
+        chart.setLabel(LEGACY_CHART_LABEL);
+        chart.setLegacyData(Map.of(LEGACY_CONCEPT, scores));
+        chartRepo.save(chart);
+    }
+
     /**
      * Creates a list of concepts.
      *
@@ -147,8 +217,169 @@ public class ChartServiceTest {
         return Arrays.asList(NON_EXISTING_PDF_NAME);
     }
 
+    /**
+     * Creates pages whose ids and labels follow their position.
+     *
+     * @return The pages, in page order.
+     */
+    private List<PDFText> createStubPages() {
+        List<PDFText> pages = new ArrayList<>();
+        for (int page = 0; page < STUB_PAGE_COUNT; page++) {
+            pages.add(new PDFText("Stub page text " + page, STUB_SOURCE, "label" + page, page + 1, (long) page));
+        }
+        return pages;
+    }
+
+    /**
+     * Derives a distinct score from the concept and page, so misplaced scores
+     * are detected.
+     *
+     * @param concept The concept.
+     * @param page    The page.
+     * @return The score.
+     */
+    private double stubScore(String concept, PDFText page) {
+        return concept.length() * 10.0 + page.getPageId();
+    }
+
+    /**
+     * Creates a similarity service that records every scored concept and page
+     * and returns the scores of each concept in reverse page order. Cells
+     * passed as completed are returned without being scored, like the real
+     * service does.
+     *
+     * @param calls Receives the number of times each concept and page was
+     *              scored.
+     * @return The similarity service.
+     */
+    private IAISimilarityService createStubSimilarityService(Map<String, Integer> calls) {
+        IAISimilarityService service = mock(IAISimilarityService.class);
+        when(service.scoreConcepts(any(), any(), any())).thenAnswer(invocation -> {
+            List<PDFText> texts = invocation.getArgument(0);
+            List<String> concepts = invocation.getArgument(1);
+            ScoringOptions options = invocation.getArgument(2);
+            Map<String, ScoringResult> results = new LinkedHashMap<>();
+            for (String concept : concepts) {
+                ScoringResult result = new ScoringResult();
+                for (PDFText text : texts) {
+                    Double completed = options.getCompletedScores().get(JobScore.createKey(text.getText(), concept));
+                    if (completed != null) {
+                        result.getScores().add(new SimilarityScore(text, concept, completed));
+                        continue;
+                    }
+                    calls.merge(concept + "|" + text.getPageId(), 1, Integer::sum);
+                    result.getScores().add(new SimilarityScore(text, concept, stubScore(concept, text)));
+                }
+                Collections.reverse(result.getScores());
+                results.put(concept, result);
+            }
+            return results;
+        });
+        when(service.getProvenance()).thenReturn(STUB_PROVENANCE);
+        return service;
+    }
+
+    /**
+     * Creates a chart service over the given pages.
+     *
+     * @param similarityService The similarity service.
+     * @param graphRepo         The graph repository.
+     * @param pages             The pages every PDF name resolves to.
+     * @return The chart service.
+     */
+    private IChartService createStubChartService(IAISimilarityService similarityService,
+            IGraphDatabaseRepo graphRepo, List<PDFText> pages) {
+        TextSearchResult texts = new TextSearchResult();
+        texts.setFound(pages);
+        texts.setNotFound(List.of());
+        ISQLRepo stubSqlRepo = mock(ISQLRepo.class);
+        when(stubSqlRepo.getTexts(any())).thenReturn(texts);
+        return new BasicChartService(similarityService, stubSqlRepo, graphRepo, new ScoringProperties());
+    }
+
     // Test Methods
 
+    @Test
+    public void testCreateChart_scoresEveryCellOnceInInputOrder() throws NoPdfFoundException {
+        List<PDFText> pages = createStubPages();
+        List<String> concepts = createConcepts("c", "concept", "co", "conc");
+        Map<String, Integer> calls = new ConcurrentHashMap<>();
+        IChartService service = createStubChartService(createStubSimilarityService(calls),
+                mock(IGraphDatabaseRepo.class), pages);
+
+        Map<String, List<PageScore>> data = service.createChart(concepts, createPdfNames(STUB_SOURCE), CHART_LABEL)
+                .getChartData().getData();
+
+        assertEquals(concepts.size() * pages.size(), calls.size(), "Every concept and page should be scored");
+        calls.forEach((cell, count) -> assertEquals(1, count, "Cell " + cell + " should be scored exactly once"));
+        assertEquals(concepts, new ArrayList<>(data.keySet()), "Series should keep the order of the concepts");
+        for (String concept : concepts) {
+            List<PageScore> series = data.get(concept);
+            assertEquals(pages.stream().map(PDFText::getPageId).toList(),
+                    series.stream().map(PageScore::getPageId).toList(), "Series should keep the page order");
+            for (int page = 0; page < pages.size(); page++) {
+                assertEquals(stubScore(concept, pages.get(page)), series.get(page).getScore(), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void testCreateChart_reusesStoredGraphScores() throws NoPdfFoundException {
+        List<PDFText> pages = createStubPages();
+        List<String> concepts = createConcepts("c", "concept");
+        PDFText storedPage = pages.get(1);
+        IGraphDatabaseRepo graphRepo = mock(IGraphDatabaseRepo.class);
+        when(graphRepo.getScores(any(), any(), eq(STUB_PROVENANCE)))
+                .thenReturn(Map.of("c", Map.of(HashUtil.sha256Hex(storedPage.getText()), STORED_SCORE)));
+        Map<String, Integer> calls = new ConcurrentHashMap<>();
+        IChartService service = createStubChartService(createStubSimilarityService(calls), graphRepo, pages);
+
+        Map<String, List<PageScore>> data = service.createChart(concepts, createPdfNames(STUB_SOURCE), CHART_LABEL)
+                .getChartData().getData();
+
+        assertEquals(concepts.size() * pages.size() - 1, calls.size(), "Only the missing cells should be scored");
+        assertFalse(calls.containsKey("c|" + storedPage.getPageId()), "The stored cell should not be scored");
+        assertEquals(STORED_SCORE, data.get("c").get(1).getScore(), 1e-6);
+        assertEquals(storedPage.getPageId(), data.get("c").get(1).getPageId());
+        assertEquals(stubScore("c", pages.get(0)), data.get("c").get(0).getScore(), 1e-6);
+    }
+
+    @Test
+    public void testCreateChart_scoresConceptsMissingDifferentPagesInOneCall() throws NoPdfFoundException {
+        List<PDFText> pages = createStubPages();
+        List<String> concepts = createConcepts("c", "concept", "co");
+        IGraphDatabaseRepo graphRepo = mock(IGraphDatabaseRepo.class);
+        when(graphRepo.getScores(any(), any(), eq(STUB_PROVENANCE))).thenReturn(Map.of(
+                "c", Map.of(HashUtil.sha256Hex(pages.get(0).getText()), STORED_SCORE),
+                "concept", Map.of(HashUtil.sha256Hex(pages.get(2).getText()), STORED_SCORE)));
+        Map<String, Integer> calls = new ConcurrentHashMap<>();
+        IAISimilarityService similarityService = createStubSimilarityService(calls);
+        IChartService service = createStubChartService(similarityService, graphRepo, pages);
+
+        Map<String, List<PageScore>> data = service.createChart(concepts, createPdfNames(STUB_SOURCE), CHART_LABEL)
+                .getChartData().getData();
+
+        verify(similarityService, times(1)).scoreConcepts(any(), any(), any());
+        assertEquals(concepts.size() * pages.size() - 2, calls.size(), "Only the missing cells should be scored");
+        assertEquals(STORED_SCORE, data.get("c").get(0).getScore(), 1e-6);
+        assertEquals(STORED_SCORE, data.get("concept").get(2).getScore(), 1e-6);
+        assertEquals(stubScore("co", pages.get(3)), data.get("co").get(3).getScore(), 1e-6);
+    }
+
+    @Test
+    public void testRemovePdfs_resolvesPagesOfLegacyChart() throws Exception {
+        saveTestFile();
+        List<PDFText> pages = sqlRepo.getPages(TEST_FILE_TITLE);
+        saveLegacyChart(pages);
+
+        assertEquals(pages.stream().map(PDFText::getPageId).toList(),
+                sqlRepo.getChartPages(LEGACY_CHART_LABEL).stream().map(PDFText::getPageId).toList(),
+                "The pages of a legacy chart should be resolved by their text");
+        assertEquals(pages.size(), chartService.removePdfs(LEGACY_CHART_LABEL, createPdfNames(TEST_FILE_TITLE)),
+                "Every point of the removed PDF should be removed");
+        assertTrue(sqlRepo.getChartPages(LEGACY_CHART_LABEL).isEmpty());
+    }
+
     @Test
     public void testCreateChartSuccess()
             throws NoPdfFoundException, FileDataReadingException, FileAlreadyInTheDatabaseException {
@@ -0,0 +1,225 @@
+package com.Orio.gbp_tool.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.Orio.gbp_tool.config.properties.ScoringProperties;
+import com.Orio.gbp_tool.exception.BackendUnavailableException;
+import com.Orio.gbp_tool.model.LimiterStats;
+import com.Orio.gbp_tool.service.impl.AimdConcurrencyLimiter;
+
+public class ConcurrencyLimiterTest {
+
+    private static final int INITIAL_LIMIT = 4;
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final long OPEN_DURATION_MS = 100;
+    private static final long REQUEST_MILLIS = 5;
+    private static final String RESPONSE = "response";
+
+    private ScoringProperties properties;
+
+    // Private Helper Methods
+
+    /**
+     * Runs a request through the limiter that fails with an exception.
+     *
+     * @param limiter The limiter.
+     */
+    private void fail(IConcurrencyLimiter limiter) {
+        assertThrows(IllegalStateException.class, () -> limiter.execute(() -> {
+            throw new IllegalStateException("Backend error");
+        }));
+    }
+
+    /**
+     * Runs a request through the limiter for which the endpoint pool found no
+     * available endpoint.
+     *
+     * @param limiter The limiter.
+     */
+    private void failUnavailable(IConcurrencyLimiter limiter) {
+        assertThrows(BackendUnavailableException.class, () -> limiter.execute(() -> {
+            throw new BackendUnavailableException("No endpoint available");
+        }));
+    }
+
+    /**
+     * Waits until the given number of requests is in flight.
+     *
+     * @param limiter  The limiter.
+     * @param inFlight The number of requests to wait for.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    private void awaitInFlight(IConcurrencyLimiter limiter, int inFlight) throws InterruptedException {
+        while (limiter.getStats().getInFlight() < inFlight) {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Simulates a backend request that takes a fixed time.
+     *
+     * @param millis The time the request takes.
+     * @return The response.
+     */
+    private String respondAfter(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return RESPONSE;
+    }
+
+    /**
+     * Simulates a backend request that takes until it is released.
+     *
+     * @param release The latch that releases the request.
+     * @return The response.
+     */
+    private String respondAfter(CountDownLatch release) {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return RESPONSE;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        properties = new ScoringProperties();
+        properties.setMaxInFlight(INITIAL_LIMIT);
+        properties.getLimiter().setFailureThreshold(FAILURE_THRESHOLD);
+        properties.getLimiter().setOpenDurationMs(OPEN_DURATION_MS);
+    }
+
+    @Test
+    public void testExecute_keepsLimitWhileLatencyIsStable() {
+        IConcurrencyLimiter limiter = new AimdConcurrencyLimiter(properties);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(RESPONSE, limiter.execute(() -> respondAfter(REQUEST_MILLIS)));
+        }
+
+        // Sequential requests use a single slot, so the limit neither grows nor backs off
+        LimiterStats stats = limiter.getStats();
+        assertEquals(INITIAL_LIMIT, stats.getLimit(), "The limit should not grow beyond what is used");
+        assertEquals(20, stats.getRequests());
+        assertEquals(0, stats.getInFlight());
+    }
+
+    @Test
+    public void testExecute_shrinksLimitOnFailures() {
+        properties.getLimiter().setFailureThreshold(Integer.MAX_VALUE);
+        properties.getLimiter().setBackoffRatio(0.5);
+        IConcurrencyLimiter limiter = new AimdConcurrencyLimiter(properties);
+
+        fail(limiter);
+
+        assertTrue(limiter.getStats().getLimit() < INITIAL_LIMIT, "A failure should decrease the limit");
+        assertEquals(1, limiter.getStats().getFailures());
+    }
+
+    @Test
+    public void testExecute_opensCircuitAndRecoversAfterTrial() throws InterruptedException {
+        IConcurrencyLimiter limiter = new AimdConcurrencyLimiter(properties);
+
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            failUnavailable(limiter);
+        }
+
+        assertEquals("OPEN", limiter.getStats().getCircuitState());
+        assertThrows(BackendUnavailableException.class, () -> limiter.execute(() -> RESPONSE),
+                "An open circuit should reject requests without running them");
+        assertEquals(1, limiter.getStats().getRejected());
+
+        Thread.sleep(OPEN_DURATION_MS + 50);
+
+        assertEquals(RESPONSE, limiter.execute(() -> RESPONSE), "The trial request should be let through");
+        assertEquals("CLOSED", limiter.getStats().getCircuitState());
+    }
+
+    @Test
+    public void testExecute_keepsCircuitClosedWhileEndpointsAreReachable() {
+        IConcurrencyLimiter limiter = new AimdConcurrencyLimiter(properties);
+
+        // The pool takes failing endpoints out of rotation, so their failures do not open the circuit
+        for (int i = 0; i < FAILURE_THRESHOLD * 2; i++) {
+            fail(limiter);
+        }
+
+        assertEquals("CLOSED", limiter.getStats().getCircuitState());
+        assertEquals(RESPONSE, limiter.execute(() -> RESPONSE));
+    }
+
+    @Test
+    public void testExecute_admitsTrialWithoutFreeSlot() throws InterruptedException {
+        properties.getLimiter().setFailureThreshold(1);
+        properties.getLimiter().setBackoffRatio(0.5);
+        IConcurrencyLimiter limiter = new AimdConcurrencyLimiter(properties);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 2; i++) {
+                executor.submit(() -> limiter.execute(() -> respondAfter(release)));
+            }
+            awaitInFlight(limiter, 2);
+
+            // Halves the limit to the two requests in flight and opens the circuit
+            failUnavailable(limiter);
+            assertEquals("OPEN", limiter.getStats().getCircuitState());
+            assertEquals(2, limiter.getStats().getLimit());
+            Thread.sleep(OPEN_DURATION_MS + 50);
+
+            assertEquals(RESPONSE, assertTimeoutPreemptively(Duration.ofSeconds(1),
+                    () -> limiter.execute(() -> RESPONSE)), "The trial request should not wait for a slot");
+            assertEquals("CLOSED", limiter.getStats().getCircuitState());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testGetStats_reportsLatencyPercentiles() {
+        IConcurrencyLimiter limiter = new AimdConcurrencyLimiter(properties);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.execute(() -> respondAfter(REQUEST_MILLIS));
+        }
+
+        LimiterStats stats = limiter.getStats();
+        assertTrue(stats.getP50LatencyMs() >= REQUEST_MILLIS, "Latencies should include the request time");
+        assertTrue(stats.getP99LatencyMs() >= stats.getP50LatencyMs());
+    }
+
+    @Test
+    public void testGetStats_ignoresLatencyOfUnavailableRequests() {
+        IConcurrencyLimiter limiter = new AimdConcurrencyLimiter(properties);
+
+        // Fewer unavailable requests in a row than the threshold, so the circuit stays closed
+        for (int i = 0; i < 5; i++) {
+            limiter.execute(() -> respondAfter(REQUEST_MILLIS));
+            for (int j = 0; j < FAILURE_THRESHOLD - 1; j++) {
+                failUnavailable(limiter);
+            }
+        }
+
+        assertEquals("CLOSED", limiter.getStats().getCircuitState());
+        assertTrue(limiter.getStats().getP50LatencyMs() >= REQUEST_MILLIS,
+                "Requests that reached no endpoint should not lower the latencies");
+    }
+}
@@ -0,0 +1,156 @@
+package com.Orio.gbp_tool.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.Orio.gbp_tool.config.properties.ScoringProperties;
+import com.Orio.gbp_tool.model.PDFText;
+import com.Orio.gbp_tool.model.PreFilterResult;
+import com.Orio.gbp_tool.model.SimilarityScore;
+import com.Orio.gbp_tool.service.impl.EmbeddingPreFilter;
+
+public class EmbeddingPreFilterTest {
+
+    private static final String CONCEPT = "concept";
+    private static final double CEILING = 20.0;
+    private static final double DELTA = 1e-4;
+
+    // Unit vectors whose cosine similarity to the concept vector is the suffix of their name
+    private static final float[] CONCEPT_VECTOR = { 1f, 0f };
+    private static final Map<String, float[]> PAGE_VECTORS = Map.of(
+            "page-1.0", vector(1.0),
+            "page-0.9", vector(0.9),
+            "page-0.8", vector(0.8),
+            "page-0.6", vector(0.6),
+            "page-0.0", vector(0.0));
+
+    private ScoringProperties properties;
+    private EmbeddingPreFilter preFilter;
+    private List<PDFText> texts;
+
+    // Private Helper Methods
+
+    /**
+     * Creates a unit vector with the given cosine similarity to the concept
+     * vector.
+     *
+     * @param similarity The cosine similarity.
+     * @return The vector.
+     */
+    private static float[] vector(double similarity) {
+        return new float[] { (float) similarity, (float) Math.sqrt(1 - similarity * similarity) };
+    }
+
+    /**
+     * Reads the labels of the texts.
+     *
+     * @param texts The texts.
+     * @return Their labels, in order.
+     */
+    private List<String> labels(List<PDFText> texts) {
+        return texts.stream().map(PDFText::getLabel).toList();
+    }
+
+    /**
+     * Finds the embedding derived score of a page.
+     *
+     * @param result The pre-filter result.
+     * @param label  The page label.
+     * @return The score.
+     */
+    private SimilarityScore scoreOf(PreFilterResult result, String label) {
+        return result.getEmbeddingScores().stream()
+                .filter(score -> score.getText().getLabel().equals(label))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        properties = new ScoringProperties();
+        properties.getPrefilter().setFallbackCeiling(CEILING);
+        texts = List.of("page-0.6", "page-1.0", "page-0.0", "page-0.9", "page-0.8").stream()
+                .map(label -> new PDFText(label, "source", label))
+                .toList();
+
+        IEmbeddingService embeddingService = new IEmbeddingService() {
+            @Override
+            public float[] embed(String text) {
+                return CONCEPT_VECTOR;
+            }
+
+            @Override
+            public List<float[]> getPageEmbeddings(List<PDFText> pages) {
+                return pages.stream().map(page -> PAGE_VECTORS.get(page.getText())).toList();
+            }
+
+            @Override
+            public CompletableFuture<List<float[]>> getPageEmbeddingsAsync(List<PDFText> pages) {
+                return CompletableFuture.completedFuture(getPageEmbeddings(pages));
+            }
+        };
+        preFilter = new EmbeddingPreFilter(embeddingService, properties);
+    }
+
+    @Test
+    public void testPartition_selectsTopK() {
+        properties.getPrefilter().setTopK(2);
+        properties.getPrefilter().setThreshold(0.95);
+
+        PreFilterResult result = preFilter.partition(texts, CONCEPT);
+
+        assertEquals(List.of("page-1.0", "page-0.9"), labels(result.getCandidates()),
+                "The most similar pages should be candidates, in input order");
+        assertEquals(List.of("page-0.6", "page-0.0", "page-0.8"),
+                result.getEmbeddingScores().stream().map(score -> score.getText().getLabel()).toList());
+    }
+
+    @Test
+    public void testPartition_selectsPagesAboveThreshold() {
+        properties.getPrefilter().setTopK(1);
+        properties.getPrefilter().setThreshold(0.75);
+
+        PreFilterResult result = preFilter.partition(texts, CONCEPT);
+
+        assertEquals(List.of("page-1.0", "page-0.9", "page-0.8"), labels(result.getCandidates()),
+                "Pages at or above the threshold should be candidates regardless of rank");
+        assertEquals(2, result.getEmbeddingScores().size());
+    }
+
+    @Test
+    public void testPartition_scalesFallbackScoresBelowCeiling() {
+        properties.getPrefilter().setTopK(2);
+        properties.getPrefilter().setThreshold(0.95);
+
+        PreFilterResult result = preFilter.partition(texts, CONCEPT);
+
+        // The least similar candidate has a similarity of 0.9, which maps to the ceiling
+        assertEquals(CEILING * 0.8 / 0.9, scoreOf(result, "page-0.8").getScore(), DELTA);
+        assertEquals(CEILING * 0.6 / 0.9, scoreOf(result, "page-0.6").getScore(), DELTA);
+        assertEquals(0.0, scoreOf(result, "page-0.0").getScore(), DELTA);
+        result.getEmbeddingScores().forEach(score -> {
+            assertTrue(score.getScore() <= CEILING, "Fallback scores should stay below the ceiling");
+            assertTrue(score.isApproximate(), "Fallback scores should be marked as approximate");
+        });
+    }
+
+    @Test
+    public void testPartition_scalesFallbackScoresWithoutCandidates() {
+        properties.getPrefilter().setTopK(0);
+        properties.getPrefilter().setThreshold(1.5);
+
+        PreFilterResult result = preFilter.partition(texts, CONCEPT);
+
+        assertTrue(result.getCandidates().isEmpty());
+        assertEquals(CEILING, scoreOf(result, "page-1.0").getScore(), DELTA,
+                "The most similar page should get the ceiling when nothing is sent to the model");
+        assertEquals(CEILING * 0.8, scoreOf(result, "page-0.8").getScore(), DELTA);
+    }
+}
@@ -0,0 +1,173 @@
+package com.Orio.gbp_tool.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.ollama.api.OllamaApi.EmbeddingRequest;
+
+import com.Orio.gbp_tool.config.properties.OllamaPoolProperties;
+import com.Orio.gbp_tool.exception.BackendUnavailableException;
+import com.Orio.gbp_tool.model.OllamaEndpointStats;
+import com.Orio.gbp_tool.service.impl.LeastOutstandingOllamaPool;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class OllamaEndpointPoolTest {
+
+    private static final String MODEL = "nomic-embed-text";
+    private static final String OTHER_MODEL = "mistral";
+    private static final String TAGS_TEMPLATE = "{\"models\": [{\"name\": \"%s:latest\"}]}";
+    private static final String EMBEDDING_RESPONSE = "{\"embedding\": [0.1, 0.2]}";
+
+    private final List<HttpServer> servers = new ArrayList<>();
+
+    // Private Helper Methods
+
+    /**
+     * Starts a stub Ollama server serving a single model.
+     *
+     * @param model      The model listed by the server.
+     * @param embeddings Counts the embedding requests the server receives.
+     * @param failing    Whether embedding requests fail with a server error.
+     * @return The base URL of the server.
+     * @throws IOException If the server cannot be started.
+     */
+    private String startStub(String model, AtomicInteger embeddings, boolean failing) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/tags", exchange -> respond(exchange, 200, String.format(TAGS_TEMPLATE, model)));
+        server.createContext("/api/embeddings", exchange -> {
+            embeddings.incrementAndGet();
+            respond(exchange, failing ? 500 : 200, failing ? "{}" : EMBEDDING_RESPONSE);
+        });
+        server.start();
+        servers.add(server);
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Writes a JSON response.
+     *
+     * @param exchange The exchange to respond to.
+     * @param status   The status code.
+     * @param body     The response body.
+     * @throws IOException If the response cannot be written.
+     */
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Creates a pool over the base URLs and runs its first health check.
+     *
+     * @param baseUrls The base URLs of the endpoints.
+     * @return The pool.
+     */
+    private IOllamaEndpointPool createPool(String... baseUrls) {
+        OllamaPoolProperties properties = new OllamaPoolProperties();
+        properties.setBaseUrls(List.of(baseUrls));
+        properties.setFailureThreshold(2);
+        IOllamaEndpointPool pool = new LeastOutstandingOllamaPool(properties, new ObjectMapper());
+        pool.checkHealth();
+        return pool;
+    }
+
+    /**
+     * Sends an embedding request through the pool.
+     *
+     * @param pool The pool.
+     */
+    private void embed(IOllamaEndpointPool pool) {
+        pool.execute(MODEL, api -> api.embeddings(new EmbeddingRequest(MODEL, "text")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        servers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    public void testExecute_spreadsRequestsOverEndpoints() throws IOException {
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+        IOllamaEndpointPool pool = createPool(startStub(MODEL, first, false), startStub(MODEL, second, false));
+
+        for (int i = 0; i < 10; i++) {
+            embed(pool);
+        }
+
+        assertEquals(5, first.get(), "Idle endpoints should share the requests");
+        assertEquals(5, second.get(), "Idle endpoints should share the requests");
+    }
+
+    @Test
+    public void testExecute_skipsEndpointsWithoutTheModel() throws IOException {
+        AtomicInteger withModel = new AtomicInteger();
+        AtomicInteger withoutModel = new AtomicInteger();
+        IOllamaEndpointPool pool = createPool(startStub(MODEL, withModel, false),
+                startStub(OTHER_MODEL, withoutModel, false));
+
+        for (int i = 0; i < 4; i++) {
+            embed(pool);
+        }
+
+        assertEquals(4, withModel.get());
+        assertEquals(0, withoutModel.get(), "An endpoint without the model should not receive requests");
+    }
+
+    @Test
+    public void testExecute_removesFailingEndpoint() throws IOException {
+        AtomicInteger healthy = new AtomicInteger();
+        AtomicInteger failing = new AtomicInteger();
+        String failingUrl = startStub(MODEL, failing, true);
+        IOllamaEndpointPool pool = createPool(startStub(MODEL, healthy, false), failingUrl);
+
+        int errors = 0;
+        for (int i = 0; i < 10; i++) {
+            try {
+                embed(pool);
+            } catch (RuntimeException e) {
+                errors++;
+            }
+        }
+
+        assertEquals(2, failing.get(), "The endpoint should leave rotation after reaching the failure threshold");
+        assertEquals(2, errors);
+        OllamaEndpointStats failingStats = pool.getStats().stream()
+                .filter(stats -> stats.getBaseUrl().equals(failingUrl))
+                .findFirst()
+                .orElseThrow();
+        assertFalse(failingStats.isHealthy());
+    }
+
+    @Test
+    public void testCheckHealth_marksStoppedEndpointUnavailable() throws IOException {
+        IOllamaEndpointPool pool = createPool(startStub(MODEL, new AtomicInteger(), false));
+        assertTrue(pool.getStats().get(0).isHealthy());
+
+        servers.remove(0).stop(0);
+        pool.checkHealth();
+
+        assertFalse(pool.getStats().get(0).isHealthy());
+        assertThrows(BackendUnavailableException.class, () -> embed(pool),
+                "Requests should fail fast when no endpoint is healthy");
+    }
+}
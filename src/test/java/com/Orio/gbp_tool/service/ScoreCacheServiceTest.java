@@ -0,0 +1,73 @@
+package com.Orio.gbp_tool.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.Orio.gbp_tool.model.PDFText;
+import com.Orio.gbp_tool.model.SimilarityScore;
+
+@SpringBootTest
+public class ScoreCacheServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreCacheServiceTest.class);
+
+    @Autowired
+    private IScoreCacheService scoreCache;
+
+    // Constants
+    private static final String SAMPLE_TEXT = "Score cache test text " + System.nanoTime();
+    private static final String SAMPLE_SOURCE = "Score cache source";
+    private static final String SAMPLE_LABEL = "Score cache label";
+    private static final String SAMPLE_CONCEPT = "Score cache concept";
+    private static final String PROMPT_VERSION = "test-v1";
+    private static final String OTHER_PROMPT_VERSION = "test-v2";
+    private static final double SAMPLE_SCORE = 42.0;
+
+    @Test
+    public void testCreateKey_isStableAndVersioned() {
+        String key = scoreCache.createKey(SAMPLE_TEXT, SAMPLE_CONCEPT, PROMPT_VERSION);
+
+        assertEquals(key, scoreCache.createKey(SAMPLE_TEXT, SAMPLE_CONCEPT, PROMPT_VERSION),
+                "The same inputs should produce the same key");
+        assertNotEquals(key, scoreCache.createKey(SAMPLE_TEXT, SAMPLE_CONCEPT, OTHER_PROMPT_VERSION),
+                "A different prompt version should produce a different key");
+        logger.info("testCreateKey_isStableAndVersioned passed");
+    }
+
+    @Test
+    public void testPutAll_thenGetAll_returnsCachedScore() {
+        String key = scoreCache.createKey(SAMPLE_TEXT, SAMPLE_CONCEPT, PROMPT_VERSION);
+        long initialMisses = scoreCache.getStats().getMisses();
+
+        assertTrue(scoreCache.getAll(List.of(key)).isEmpty(), "Key should not be cached before putAll");
+        assertEquals(initialMisses + 1, scoreCache.getStats().getMisses(), "Lookup should count as a miss");
+
+        SimilarityScore score = new SimilarityScore(createPDFText(), SAMPLE_CONCEPT, SAMPLE_SCORE);
+        scoreCache.putAll(Map.of(key, score));
+
+        Map<String, Double> cached = scoreCache.getAll(List.of(key));
+        assertEquals(SAMPLE_SCORE, cached.get(key), "Cached score should be returned");
+        logger.info("testPutAll_thenGetAll_returnsCachedScore passed");
+    }
+
+    // Private helper methods
+
+    /**
+     * Creates a PDFText instance used by the cache tests.
+     *
+     * @return A new PDFText instance.
+     */
+    private PDFText createPDFText() {
+        return new PDFText(SAMPLE_TEXT, SAMPLE_SOURCE, SAMPLE_LABEL);
+    }
+}
@@ -40,6 +40,10 @@ public class TextProcessorServiceTest {
     private static final float TEXT_FONT_SIZE = 12f;
     private static final float TEXT_START_X = 25f;
     private static final float TEXT_START_Y = 750f;
+    private static final String MULTI_PAGE_PDF_TITLE = "Multi Page PDF";
+    private static final String SHORT_PAGE_TEXT = "Too short to keep.";
+    private static final int MULTI_PAGE_COUNT = 120;
+    private static final int PARALLEL_WORKERS = 4;
 
     @Test
     public void testCreateText_withValidPDF() throws IOException {
@@ -92,6 +96,25 @@ public class TextProcessorServiceTest {
         logger.info("testCreateText_withInvalidPDF passed with exception: {}", exception.getMessage());
     }
 
+    @Test
+    public void testCreateText_parallelMatchesSequential() throws IOException {
+        logger.info("Starting testCreateText_parallelMatchesSequential");
+
+        // Arrange: Every fifth page is too short and must be filtered out
+        byte[] pdfData = createMultiPagePdf(MULTI_PAGE_COUNT);
+        FileEntity fileEntity = createFileEntity(MULTI_PAGE_PDF_TITLE, pdfData);
+
+        // Act: Extract the same document sequentially and with several workers
+        List<PDFText> sequential = iTextProcessorService.createText(fileEntity, 1);
+        List<PDFText> parallel = iTextProcessorService.createText(fileEntity, PARALLEL_WORKERS);
+
+        // Assert: Same pages, in page order, with the length filter applied
+        assertEquals(MULTI_PAGE_COUNT - MULTI_PAGE_COUNT / 5, sequential.size(),
+                "Short pages should be omitted.");
+        assertEquals(sequential, parallel, "Parallel extraction should match sequential extraction.");
+        logger.info("testCreateText_parallelMatchesSequential passed");
+    }
+
     // Private Helper Methods
 
     /**
@@ -137,6 +160,38 @@ public class TextProcessorServiceTest {
         }
     }
 
+    /**
+     * Creates a PDF document with the given number of pages. Every fifth page
+     * holds text that is shorter than the minimum length.
+     *
+     * @param pageCount The number of pages.
+     * @return A byte array representing the PDF document.
+     * @throws IOException If an I/O error occurs.
+     */
+    private byte[] createMultiPagePdf(int pageCount) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int i = 1; i <= pageCount; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+
+                String text = i % 5 == 0 ? SHORT_PAGE_TEXT : "Page " + i + ". " + VALID_PDF_TEXT;
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(font, TEXT_FONT_SIZE / 2);
+                    contentStream.newLineAtOffset(TEXT_START_X, TEXT_START_Y);
+                    contentStream.showText(text);
+                    contentStream.endText();
+                }
+            }
+
+            try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                document.save(out);
+                return out.toByteArray();
+            }
+        }
+    }
+
     /**
      * Creates an empty PDF document.
      *
@@ -0,0 +1,67 @@
+package com.Orio.gbp_tool.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ScoreUtilTest {
+
+    @Test
+    public void testParseScore_fullJson() {
+        assertEquals(72.0, ScoreUtil.parseScore("{\"score\": 72}"));
+        assertEquals(72.5, ScoreUtil.parseScore("{\"analysis\": \"Close match\", \"score\": 72.5}"));
+    }
+
+    @Test
+    public void testParseScore_truncatedJson() {
+        assertEquals(72.0, ScoreUtil.parseScore("{\"score\": 72"),
+                "A response cut off by the stop sequence should still yield its score");
+        assertEquals(72.0, ScoreUtil.parseScore("{\"score\":72"));
+    }
+
+    @Test
+    public void testParseScore_quotedNumber() {
+        assertEquals(72.5, ScoreUtil.parseScore("{\"score\": \"72.5\"}"));
+        assertEquals(72.5, ScoreUtil.parseScore("\"72.5\""));
+    }
+
+    @Test
+    public void testParseScore_bareNumber() {
+        assertEquals(72.0, ScoreUtil.parseScore("72"));
+        assertEquals(72.5, ScoreUtil.parseScore("  72.5\n"));
+    }
+
+    @Test
+    public void testParseScore_acceptsRangeBounds() {
+        assertEquals(0.0, ScoreUtil.parseScore("{\"score\": 0}"));
+        assertEquals(100.0, ScoreUtil.parseScore("100.0"));
+    }
+
+    @Test
+    public void testParseScore_rejectsOutOfRange() {
+        assertNull(ScoreUtil.parseScore("{\"score\": 150}"), "Scores above the range should be rejected");
+        assertNull(ScoreUtil.parseScore("{\"score\": 100.5"), "Scores above the range should be rejected");
+        assertNull(ScoreUtil.parseScore("-5"), "Negative scores should be rejected");
+        assertNull(ScoreUtil.parseScore("\"-0.5\""), "Negative scores should be rejected");
+    }
+
+    @Test
+    public void testParseScore_withoutScore() {
+        assertNull(ScoreUtil.parseScore(null));
+        assertNull(ScoreUtil.parseScore(""));
+        assertNull(ScoreUtil.parseScore("The text matches the concept well"));
+        assertNull(ScoreUtil.parseScore("{\"analysis\": \"Close match\"}"));
+    }
+
+    @Test
+    public void testIsInRange() {
+        assertTrue(ScoreUtil.isInRange(0.0));
+        assertTrue(ScoreUtil.isInRange(100.0));
+        assertFalse(ScoreUtil.isInRange(null), "A missing score should not count as in range");
+        assertFalse(ScoreUtil.isInRange(100.5));
+        assertFalse(ScoreUtil.isInRange(-0.5));
+    }
+}